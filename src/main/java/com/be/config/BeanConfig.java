@@ -7,7 +7,6 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.Properties;
 
@@ -24,11 +23,6 @@ public class BeanConfig {
         return new Gson();
     }
 
-    @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
-    }
-
     @Bean
     public JavaMailSender mailSender(@Value("${spring.mail.username:''}") String username,
                                      @Value("${spring.mail.password:''}") String password) {
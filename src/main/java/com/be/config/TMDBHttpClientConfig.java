@@ -0,0 +1,109 @@
+package com.be.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * HTTP client used for all TMDB calls: a bounded keep-alive connection pool (Apache HttpClient 5)
+ * with connect, read and pool-acquire timeouts. With {@code app.tmdb.http.http2-enabled=true}
+ * the JDK client is used instead, which multiplexes requests over HTTP/2 and has no pool to size.
+ */
+@Configuration
+@Slf4j
+public class TMDBHttpClientConfig {
+
+    @Value("${app.tmdb.http.http2-enabled:false}")
+    private boolean http2Enabled;
+
+    @Value("${app.tmdb.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${app.tmdb.http.max-connections-per-route:20}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${app.tmdb.http.connect-timeout:3s}")
+    private Duration connectTimeout;
+
+    @Value("${app.tmdb.http.read-timeout:10s}")
+    private Duration readTimeout;
+
+    @Value("${app.tmdb.http.pool-acquire-timeout:5s}")
+    private Duration poolAcquireTimeout;
+
+    @Value("${app.tmdb.http.idle-timeout:30s}")
+    private Duration idleTimeout;
+
+    @Value("${app.tmdb.http.connection-ttl:5m}")
+    private Duration connectionTtl;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager tmdbConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.of(connectionTtl))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient tmdbHttpClient(PoolingHttpClientConnectionManager tmdbConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(tmdbConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(poolAcquireTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory tmdbRequestFactory(ObjectProvider<CloseableHttpClient> tmdbHttpClient) {
+        if (http2Enabled) {
+            log.info("TMDB HTTP client: JDK HttpClient with HTTP/2");
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(connectTimeout)
+                    .build();
+            JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+            factory.setReadTimeout(readTimeout);
+            return factory;
+        }
+
+        log.info("TMDB HTTP client: pooled HTTP/1.1, max {} connections ({} per route)",
+                maxConnections, maxConnectionsPerRoute);
+        return new HttpComponentsClientHttpRequestFactory(tmdbHttpClient.getObject());
+    }
+
+    @Bean
+    public RestTemplate tmdbRestTemplate(ClientHttpRequestFactory tmdbRequestFactory) {
+        return new RestTemplate(tmdbRequestFactory);
+    }
+
+    public boolean isHttp2Enabled() {
+        return http2Enabled;
+    }
+}
@@ -4,6 +4,7 @@ import com.be.model.base.AppResponse;
 import com.be.model.dto.CastDetailDTO;
 import com.be.model.dto.MovieDTO;
 import com.be.service.CastService;
+import com.be.service.external.ReadTrafficTracker;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -18,16 +19,19 @@ import org.springframework.web.bind.annotation.*;
 public class CastController {
     private final HttpServletRequest request;
     private final CastService castService;
+    private final ReadTrafficTracker trafficTracker;
 
-    public CastController(HttpServletRequest request, CastService castService) {
+    public CastController(HttpServletRequest request, CastService castService, ReadTrafficTracker trafficTracker) {
         this.request = request;
         this.castService = castService;
+        this.trafficTracker = trafficTracker;
     }
 
     @GetMapping("/{castId}/detail")
     public ResponseEntity<AppResponse<CastDetailDTO>> getCastDetails(
             @PathVariable Long castId) {
         CastDetailDTO castDetails = castService.getCastDetails(castId);
+        trafficTracker.recordCast(castId);
 
         return ResponseEntity.ok(AppResponse.buildResponse(
                 null,
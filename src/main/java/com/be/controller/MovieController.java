@@ -11,6 +11,7 @@ import com.be.model.dto.*;
 import com.be.model.entity.CategoryType;
 import com.be.model.entity.MovieRating;
 import com.be.service.MovieService;
+import com.be.service.external.ReadTrafficTracker;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -27,13 +28,16 @@ public class MovieController {
     private final HttpServletRequest request;
     private final MovieService movieService;
     private final MovieRecommendationService movieRecommendationService;
+    private final ReadTrafficTracker trafficTracker;
 
     public MovieController(HttpServletRequest request,
                            MovieService movieService,
-                           MovieRecommendationService movieRecommendationService) {
+                           MovieRecommendationService movieRecommendationService,
+                           ReadTrafficTracker trafficTracker) {
         this.request = request;
         this.movieService = movieService;
         this.movieRecommendationService = movieRecommendationService;
+        this.trafficTracker = trafficTracker;
     }
 
     @ExceptionHandler(Exception.class)
@@ -274,6 +278,7 @@ public class MovieController {
             @RequestParam(defaultValue = "10") int size) {
         Long userId = SecurityUtils.getCurrentUserId();
         MovieDetailDTO movieDetail = movieService.getMovieDetail(movieId, userId, PageRequest.of(page, size, Sort.by("createdAt").descending()));
+        trafficTracker.recordMovie(movieId);
         return ResponseEntity.ok(AppResponse.buildResponse(
                 null,
                 request.getRequestURI(),
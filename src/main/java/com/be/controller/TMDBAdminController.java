@@ -0,0 +1,254 @@
+package com.be.controller;
+
+import com.be.model.base.AppResponse;
+import com.be.model.dto.SyncDeadLetterDTO;
+import com.be.model.dto.admin.CacheRegionStatsDTO;
+import com.be.model.dto.admin.CapturedPayloadDTO;
+import com.be.model.dto.admin.CoalescerStatsDTO;
+import com.be.model.dto.admin.HttpPoolStatsDTO;
+import com.be.model.dto.admin.RateLimiterStatsDTO;
+import com.be.model.dto.admin.RefreshStatsDTO;
+import com.be.model.dto.admin.SchedulerLeaseDTO;
+import com.be.model.dto.admin.SyncMetricsSummaryDTO;
+import com.be.model.entity.SyncJobType;
+import com.be.service.external.SchedulerLeaseService;
+import com.be.service.external.SyncDeadLetterService;
+import com.be.service.external.TMDBExportImportService;
+import com.be.service.external.TMDBHttpPoolMonitor;
+import com.be.service.external.TMDBMetrics;
+import com.be.service.external.TMDBPayloadSampler;
+import com.be.service.external.TMDBRateLimiter;
+import com.be.service.external.TMDBRefreshScheduler;
+import com.be.service.external.TMDBRequestCoalescer;
+import com.be.service.external.TMDBResponseCache;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/admins/tmdb")
+@Slf4j
+public class TMDBAdminController {
+    private final TMDBResponseCache responseCache;
+    private final TMDBPayloadSampler payloadSampler;
+    private final TMDBRateLimiter rateLimiter;
+    private final TMDBHttpPoolMonitor httpPoolMonitor;
+    private final TMDBRequestCoalescer coalescer;
+    private final TMDBExportImportService exportImportService;
+    private final SchedulerLeaseService leaseService;
+    private final TMDBRefreshScheduler refreshScheduler;
+    private final TMDBMetrics metrics;
+    private final SyncDeadLetterService deadLetterService;
+    private final HttpServletRequest request;
+
+    public TMDBAdminController(TMDBResponseCache responseCache,
+                               TMDBPayloadSampler payloadSampler,
+                               TMDBRateLimiter rateLimiter,
+                               TMDBHttpPoolMonitor httpPoolMonitor,
+                               TMDBRequestCoalescer coalescer,
+                               TMDBExportImportService exportImportService,
+                               SchedulerLeaseService leaseService,
+                               TMDBRefreshScheduler refreshScheduler,
+                               TMDBMetrics metrics,
+                               SyncDeadLetterService deadLetterService,
+                               HttpServletRequest request) {
+        this.responseCache = responseCache;
+        this.payloadSampler = payloadSampler;
+        this.rateLimiter = rateLimiter;
+        this.httpPoolMonitor = httpPoolMonitor;
+        this.coalescer = coalescer;
+        this.exportImportService = exportImportService;
+        this.leaseService = leaseService;
+        this.refreshScheduler = refreshScheduler;
+        this.metrics = metrics;
+        this.deadLetterService = deadLetterService;
+        this.request = request;
+    }
+
+    @GetMapping("/cache")
+    public ResponseEntity<AppResponse<List<CacheRegionStatsDTO>>> getCacheStats() {
+        return ResponseEntity.ok(AppResponse.buildResponse(
+                null,
+                request.getRequestURI(),
+                "TMDB cache stats retrieved successfully",
+                HttpStatus.OK.value(),
+                responseCache.getStats()
+        ));
+    }
+
+    @DeleteMapping("/cache")
+    public ResponseEntity<AppResponse<List<CacheRegionStatsDTO>>> flushCache(
+            @RequestParam(required = false) String region) {
+        if (region == null) {
+            responseCache.invalidateAll();
+        } else {
+            responseCache.invalidate(TMDBResponseCache.Region.fromKey(region));
+        }
+
+        return ResponseEntity.ok(AppResponse.buildResponse(
+                null,
+                request.getRequestURI(),
+                region == null ? "TMDB cache flushed" : "TMDB cache region " + region + " flushed",
+                HttpStatus.OK.value(),
+                responseCache.getStats()
+        ));
+    }
+
+    @GetMapping("/payloads")
+    public ResponseEntity<AppResponse<List<CapturedPayloadDTO>>> getCapturedPayloads() {
+        return ResponseEntity.ok(AppResponse.buildResponse(
+                null,
+                request.getRequestURI(),
+                "Captured TMDB payloads retrieved successfully",
+                HttpStatus.OK.value(),
+                payloadSampler.getPayloads()
+        ));
+    }
+
+    @DeleteMapping("/payloads")
+    public ResponseEntity<AppResponse<Void>> clearCapturedPayloads() {
+        payloadSampler.clear();
+
+        return ResponseEntity.ok(AppResponse.buildResponse(
+                null,
+                request.getRequestURI(),
+                "Captured TMDB payloads cleared",
+                HttpStatus.OK.value(),
+                null
+        ));
+    }
+
+    @GetMapping("/rate-limiter")
+    public ResponseEntity<AppResponse<RateLimiterStatsDTO>> getRateLimiterStats() {
+        return ResponseEntity.ok(AppResponse.buildResponse(
+                null,
+                request.getRequestURI(),
+                "TMDB rate limiter stats retrieved successfully",
+                HttpStatus.OK.value(),
+                rateLimiter.getStats()
+        ));
+    }
+
+    @GetMapping("/http-pool")
+    public ResponseEntity<AppResponse<HttpPoolStatsDTO>> getHttpPoolStats() {
+        return ResponseEntity.ok(AppResponse.buildResponse(
+                null,
+                request.getRequestURI(),
+                "TMDB HTTP pool stats retrieved successfully",
+                HttpStatus.OK.value(),
+                httpPoolMonitor.getStats()
+        ));
+    }
+
+    @GetMapping("/coalescing")
+    public ResponseEntity<AppResponse<CoalescerStatsDTO>> getCoalescerStats() {
+        return ResponseEntity.ok(AppResponse.buildResponse(
+                null,
+                request.getRequestURI(),
+                "TMDB request coalescing stats retrieved successfully",
+                HttpStatus.OK.value(),
+                coalescer.getStats()
+        ));
+    }
+
+    @GetMapping("/leases")
+    public ResponseEntity<AppResponse<List<SchedulerLeaseDTO>>> getSchedulerLeases() {
+        return ResponseEntity.ok(AppResponse.buildResponse(
+                null,
+                request.getRequestURI(),
+                "Scheduler leases retrieved successfully (this node: " + leaseService.getNodeId() + ")",
+                HttpStatus.OK.value(),
+                leaseService.getLeases()
+        ));
+    }
+
+    @GetMapping("/refresh")
+    public ResponseEntity<AppResponse<RefreshStatsDTO>> getRefreshStats() {
+        return ResponseEntity.ok(AppResponse.buildResponse(
+                null,
+                request.getRequestURI(),
+                "TMDB refresh scheduler stats retrieved successfully",
+                HttpStatus.OK.value(),
+                refreshScheduler.getStats()
+        ));
+    }
+
+    @GetMapping("/metrics")
+    public ResponseEntity<AppResponse<SyncMetricsSummaryDTO>> getSyncMetrics() {
+        return ResponseEntity.ok(AppResponse.buildResponse(
+                null,
+                request.getRequestURI(),
+                "TMDB sync metrics summary retrieved successfully",
+                HttpStatus.OK.value(),
+                metrics.getSummary()
+        ));
+    }
+
+    @GetMapping("/dead-letters")
+    public ResponseEntity<AppResponse<Page<SyncDeadLetterDTO>>> getDeadLetters(
+            @RequestParam(required = false) SyncJobType type,
+            @RequestParam(defaultValue = "false") boolean parked,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(AppResponse.buildResponse(
+                null,
+                request.getRequestURI(),
+                "Sync dead letters retrieved successfully",
+                HttpStatus.OK.value(),
+                deadLetterService.getDeadLetters(type, parked, PageRequest.of(page, size))
+        ));
+    }
+
+    @DeleteMapping("/dead-letters")
+    public ResponseEntity<AppResponse<Integer>> purgeDeadLetters(
+            @RequestParam(required = false) SyncJobType type,
+            @RequestParam(defaultValue = "false") boolean parked) {
+        int purged = deadLetterService.purge(type, parked);
+
+        return ResponseEntity.ok(AppResponse.buildResponse(
+                null,
+                request.getRequestURI(),
+                "Purged " + purged + " sync dead letters",
+                HttpStatus.OK.value(),
+                purged
+        ));
+    }
+
+    @DeleteMapping("/dead-letters/{id}")
+    public ResponseEntity<AppResponse<Void>> deleteDeadLetter(@PathVariable Long id) {
+        deadLetterService.delete(id);
+
+        return ResponseEntity.ok(AppResponse.buildResponse(
+                null,
+                request.getRequestURI(),
+                "Sync dead letter deleted",
+                HttpStatus.OK.value(),
+                null
+        ));
+    }
+
+    @PostMapping("/import")
+    public ResponseEntity<AppResponse<String>> importExport(
+            @RequestParam String file,
+            @RequestParam(defaultValue = "0") double minPopularity,
+            @RequestParam(defaultValue = "false") boolean includeAdult,
+            @RequestParam(defaultValue = "false") boolean restart) {
+        Path exportFile = exportImportService.resolveExportFile(file);
+        exportImportService.importMovies(exportFile, minPopularity, includeAdult, restart);
+
+        return ResponseEntity.ok(AppResponse.buildResponse(
+                null,
+                request.getRequestURI(),
+                "TMDB export import started in background",
+                HttpStatus.OK.value(),
+                "Import process started"
+        ));
+    }
+}
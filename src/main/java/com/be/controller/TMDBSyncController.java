@@ -1,12 +1,19 @@
 package com.be.controller;
 
 import com.be.model.base.AppResponse;
+import com.be.model.dto.SyncJobDTO;
 import com.be.model.entity.Movie;
+import com.be.model.entity.SyncJobStatus;
+import com.be.model.entity.SyncJobType;
 import com.be.repository.MovieRepository;
+import com.be.service.external.SyncJobService;
+import com.be.service.external.TMDBChangeSyncService;
 import com.be.service.external.TMDBService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,14 +25,20 @@ import java.util.List;
 @Slf4j
 public class TMDBSyncController {
     private final TMDBService tmdbService;
+    private final TMDBChangeSyncService changeSyncService;
+    private final SyncJobService syncJobService;
     private final HttpServletRequest request;
     private final MovieRepository movieRepository;
 
     @Autowired
     public TMDBSyncController(TMDBService tmdbService,
+                              TMDBChangeSyncService changeSyncService,
+                              SyncJobService syncJobService,
                               HttpServletRequest request,
                               MovieRepository movieRepository) {
         this.tmdbService = tmdbService;
+        this.changeSyncService = changeSyncService;
+        this.syncJobService = syncJobService;
         this.request = request;
         this.movieRepository = movieRepository;
     }
@@ -70,15 +83,15 @@ public class TMDBSyncController {
     }
 
     @PostMapping("/movies/cast")
-    public ResponseEntity<AppResponse<String>> syncAllMovieCasts() {
-        tmdbService.syncAllMovieCasts();
+    public ResponseEntity<AppResponse<SyncJobDTO>> syncAllMovieCasts() {
+        SyncJobDTO job = syncJobService.start(SyncJobType.MOVIE_CASTS);
 
         return ResponseEntity.ok(AppResponse.buildResponse(
                 null,
                 request.getRequestURI(),
                 "Batch movie cast sync started",
                 HttpStatus.OK.value(),
-                "Sync process started"
+                job
         ));
     }
 
@@ -127,28 +140,95 @@ public class TMDBSyncController {
         ));
     }
 
+    @PostMapping("/movie/{movieId}/full")
+    public ResponseEntity<AppResponse<String>> syncMovieFull(
+            @PathVariable Long movieId) {
+        tmdbService.syncMovieFull(movieId);
+
+        return ResponseEntity.ok(AppResponse.buildResponse(
+                null,
+                request.getRequestURI(),
+                "Full movie sync started",
+                HttpStatus.OK.value(),
+                "Sync process started"
+        ));
+    }
+
+    @PostMapping("/movies/full")
+    public ResponseEntity<AppResponse<SyncJobDTO>> syncAllMoviesFull() {
+        SyncJobDTO job = syncJobService.start(SyncJobType.MOVIES_FULL);
+
+        return ResponseEntity.ok(AppResponse.buildResponse(
+                null,
+                request.getRequestURI(),
+                "Full sync of all movies started",
+                HttpStatus.OK.value(),
+                job
+        ));
+    }
+
     @PostMapping("/reviews/all")
-    public ResponseEntity<AppResponse<String>> syncAllMovieReviews() {
-        tmdbService.syncAllMovieReviews();
+    public ResponseEntity<AppResponse<SyncJobDTO>> syncAllMovieReviews() {
+        SyncJobDTO job = syncJobService.start(SyncJobType.MOVIE_REVIEWS);
 
         return ResponseEntity.ok(AppResponse.buildResponse(
                 null,
                 request.getRequestURI(),
                 "Full review sync started",
                 HttpStatus.OK.value(),
-                "Sync process started"
+                job
         ));
     }
 
     @PostMapping("/casts/all")
-    public ResponseEntity<AppResponse<String>> syncAllCastDetails() {
-        tmdbService.syncAllCastDetails();
+    public ResponseEntity<AppResponse<SyncJobDTO>> syncAllCastDetails() {
+        SyncJobDTO job = syncJobService.start(SyncJobType.CAST_DETAILS);
 
         return ResponseEntity.ok(AppResponse.buildResponse(
                 null,
                 request.getRequestURI(),
                 "Cast details sync started",
                 HttpStatus.OK.value(),
+                job
+        ));
+    }
+
+    @GetMapping("/jobs")
+    public ResponseEntity<AppResponse<Page<SyncJobDTO>>> getSyncJobs(
+            @RequestParam(required = false) SyncJobStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Page<SyncJobDTO> jobs = syncJobService.getJobs(status, PageRequest.of(page, size));
+
+        return ResponseEntity.ok(AppResponse.buildResponse(
+                null,
+                request.getRequestURI(),
+                "Sync jobs retrieved successfully",
+                HttpStatus.OK.value(),
+                jobs
+        ));
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<AppResponse<SyncJobDTO>> getSyncJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(AppResponse.buildResponse(
+                null,
+                request.getRequestURI(),
+                "Sync job retrieved successfully",
+                HttpStatus.OK.value(),
+                syncJobService.getJob(jobId)
+        ));
+    }
+
+    @PostMapping("/changes")
+    public ResponseEntity<AppResponse<String>> syncChanges() {
+        changeSyncService.syncChanges();
+
+        return ResponseEntity.ok(AppResponse.buildResponse(
+                null,
+                request.getRequestURI(),
+                "Incremental change sync started",
+                HttpStatus.OK.value(),
                 "Sync process started"
         ));
     }
@@ -0,0 +1,19 @@
+package com.be.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lightweight row (id, TMDB id, title or name) used by bulk sync jobs instead of loading full entities.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogItemDTO {
+    private Long id;
+    private Long tmdbId;
+    private String name;
+}
@@ -0,0 +1,48 @@
+package com.be.model.dto;
+
+import com.be.model.entity.SyncDeadLetter;
+import com.be.model.entity.SyncJobType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncDeadLetterDTO {
+    private Long id;
+    private SyncJobType type;
+    private Long tmdbId;
+    private Long entityId;
+    private String entityName;
+    private String source;
+    private String errorClass;
+    private String errorMessage;
+    private int attempts;
+    private boolean parked;
+    private ZonedDateTime firstFailedAt;
+    private ZonedDateTime lastFailedAt;
+    private ZonedDateTime nextAttemptAt;
+
+    public static SyncDeadLetterDTO fromEntity(SyncDeadLetter letter) {
+        return SyncDeadLetterDTO.builder()
+                .id(letter.getId())
+                .type(letter.getJobType())
+                .tmdbId(letter.getTmdbId())
+                .entityId(letter.getEntityId())
+                .entityName(letter.getEntityName())
+                .source(letter.getSource())
+                .errorClass(letter.getErrorClass())
+                .errorMessage(letter.getErrorMessage())
+                .attempts(letter.getAttempts())
+                .parked(letter.getNextAttemptAt() == null)
+                .firstFailedAt(letter.getFirstFailedAt())
+                .lastFailedAt(letter.getLastFailedAt())
+                .nextAttemptAt(letter.getNextAttemptAt())
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.be.model.dto;
+
+import com.be.model.entity.SyncJob;
+import com.be.model.entity.SyncJobStatus;
+import com.be.model.entity.SyncJobType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncJobDTO {
+    private Long id;
+    private SyncJobType type;
+    private SyncJobStatus status;
+    private Long cursorId;
+    private long totalItems;
+    private long processedItems;
+    private long failedItems;
+    private double itemsPerSecond;
+    private Long etaSeconds;
+    private List<String> errorSamples;
+    private String resultMessage;
+    private ZonedDateTime startedAt;
+    private ZonedDateTime updatedAt;
+    private ZonedDateTime finishedAt;
+
+    public static SyncJobDTO fromEntity(SyncJob job) {
+        long handled = job.getProcessedItems() + job.getFailedItems();
+
+        // Throughput of the current run only, so downtime before a resume does not drag it down
+        ZonedDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : ZonedDateTime.now();
+        long runMillis = Duration.between(job.getRunStartedAt(), end).toMillis();
+        double itemsPerSecond = runMillis > 0 ? (handled - job.getRunBaseItems()) * 1000.0 / runMillis : 0;
+
+        Long etaSeconds = null;
+        if (job.getStatus() == SyncJobStatus.RUNNING && itemsPerSecond > 0) {
+            etaSeconds = (long) Math.ceil(Math.max(0, job.getTotalItems() - handled) / itemsPerSecond);
+        }
+
+        return SyncJobDTO.builder()
+                .id(job.getId())
+                .type(job.getJobType())
+                .status(job.getStatus())
+                .cursorId(job.getCursorId())
+                .totalItems(job.getTotalItems())
+                .processedItems(job.getProcessedItems())
+                .failedItems(job.getFailedItems())
+                .itemsPerSecond(Math.max(0, itemsPerSecond))
+                .etaSeconds(etaSeconds)
+                .errorSamples(job.getErrorSamples() == null || job.getErrorSamples().isEmpty()
+                        ? List.of()
+                        : Arrays.asList(job.getErrorSamples().split("\n")))
+                .resultMessage(job.getResultMessage())
+                .startedAt(job.getStartedAt())
+                .updatedAt(job.getUpdatedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
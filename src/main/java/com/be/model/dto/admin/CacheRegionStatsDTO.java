@@ -0,0 +1,20 @@
+package com.be.model.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStatsDTO {
+    private String region;
+    private long size;
+    private long ttlSeconds;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private double hitRate;
+}
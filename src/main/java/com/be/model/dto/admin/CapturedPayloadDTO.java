@@ -0,0 +1,22 @@
+package com.be.model.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CapturedPayloadDTO {
+    private ZonedDateTime capturedAt;
+    private String operation;
+    private String url;
+    private int status;
+    private int sizeBytes;
+    private boolean truncated;
+    private String body;
+}
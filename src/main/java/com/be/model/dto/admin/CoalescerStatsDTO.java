@@ -0,0 +1,20 @@
+package com.be.model.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoalescerStatsDTO {
+    private boolean enabled;
+    private int inFlight;
+    private long fetchCount;
+    private long collapsedCount;
+    private long failedCount;
+    private long timedOutCount;
+    private double collapseRate;
+}
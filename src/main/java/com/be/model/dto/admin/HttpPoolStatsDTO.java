@@ -0,0 +1,19 @@
+package com.be.model.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HttpPoolStatsDTO {
+    private String mode;
+    private int leased;
+    private int pending;
+    private int idle;
+    private int max;
+    private int maxPerRoute;
+}
@@ -0,0 +1,23 @@
+package com.be.model.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimiterStatsDTO {
+    private double currentRate;
+    private double maxRate;
+    private double availablePermits;
+    private long pausedForMillis;
+    private long acquiredCount;
+    private long waitedCount;
+    private long throttledCount;
+    private long totalWaitMillis;
+    private double avgWaitMillis;
+    private long maxWaitMillis;
+}
@@ -0,0 +1,29 @@
+package com.be.model.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshStatsDTO {
+    private boolean enabled;
+    private double budgetPerHour;
+    private double availableCredit;
+    private ZonedDateTime lastCycleAt;
+    private int lastCandidates;
+    private int lastMovies;
+    private int lastCasts;
+    private long lastFailed;
+    private List<String> lastErrors;
+    private long totalRefreshed;
+    private long totalFailed;
+    private int trackedMovies;
+    private int trackedCasts;
+}
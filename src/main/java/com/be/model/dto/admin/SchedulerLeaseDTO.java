@@ -0,0 +1,23 @@
+package com.be.model.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerLeaseDTO {
+    private String name;
+    private String holder;
+    private boolean active;
+    private boolean heldByThisNode;
+    private ZonedDateTime acquiredAt;
+    private ZonedDateTime heartbeatAt;
+    private ZonedDateTime expiresAt;
+    private ZonedDateTime releasedAt;
+}
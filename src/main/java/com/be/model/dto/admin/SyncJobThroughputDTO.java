@@ -0,0 +1,19 @@
+package com.be.model.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncJobThroughputDTO {
+    private String job;
+    private long succeeded;
+    private long failed;
+    private double meanItemMillis;
+    private int inFlight;
+    private double lastRunItemsPerSecond;
+}
@@ -0,0 +1,25 @@
+package com.be.model.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncMetricsSummaryDTO {
+    private List<TimerStatsDTO> tmdbRequests;
+    private List<TimerStatsDTO> dbWrites;
+    private List<SyncJobThroughputDTO> jobs;
+    // Cumulative since startup; compare these to see where sync time goes
+    private double tmdbSeconds;
+    private double dbWriteSeconds;
+    private double rateLimitWaitSeconds;
+    private long throttledCount;
+    private Double processCpuUsage;
+    private Double systemCpuUsage;
+}
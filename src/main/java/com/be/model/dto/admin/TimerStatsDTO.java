@@ -0,0 +1,19 @@
+package com.be.model.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimerStatsDTO {
+    private String name;
+    private long count;
+    private long errors;
+    private double totalSeconds;
+    private double meanMillis;
+    private double maxMillis;
+}
@@ -0,0 +1,13 @@
+package com.be.model.dto.tmdb;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TMDBChangeDTO {
+    private Long id;
+    private Boolean adult;
+}
@@ -0,0 +1,16 @@
+package com.be.model.dto.tmdb;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TMDBChangesResponse {
+    private List<TMDBChangeDTO> results;
+    private Integer page;
+    @JsonProperty("total_pages")
+    private Integer totalPages;
+    @JsonProperty("total_results")
+    private Integer totalResults;
+}
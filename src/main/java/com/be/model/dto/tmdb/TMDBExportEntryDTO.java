@@ -0,0 +1,19 @@
+package com.be.model.dto.tmdb;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One line of TMDB's daily ID export (movie_ids_MM_DD_YYYY.json.gz)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TMDBExportEntryDTO {
+    private Long id;
+    @JsonProperty("original_title")
+    private String originalTitle;
+    private Float popularity;
+    private Boolean adult;
+    private Boolean video;
+}
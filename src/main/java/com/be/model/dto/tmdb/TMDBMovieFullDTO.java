@@ -0,0 +1,18 @@
+package com.be.model.dto.tmdb;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Movie details fetched with {@code append_to_response=credits,videos,reviews}.
+ * Reviews hold only the first page; the remaining pages come from {@code /movie/{id}/reviews}.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class TMDBMovieFullDTO extends TMDBMovieDTO {
+    private TMDBCreditsResponse credits;
+    private TMDBVideoResponse videos;
+    private TMDBReviewResponse reviews;
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDate;
+import java.time.ZonedDateTime;
 import java.util.Set;
 
 @Entity
@@ -45,6 +46,13 @@ public class Cast extends BaseEntity {
     @Column(name = "imdb_id")
     private String imdbId;
 
+    // Fingerprint of the TMDB person data last written
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "synced_at")
+    private ZonedDateTime syncedAt;
+
     @OneToMany(mappedBy = "cast")
     private Set<MovieCast> movies;
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDate;
+import java.time.ZonedDateTime;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
@@ -121,6 +122,13 @@ public class Movie extends BaseEntity {
 
     private String tagline;
 
+    // Fingerprint of the TMDB data last written, see MovieBatchWriter
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "synced_at")
+    private ZonedDateTime syncedAt;
+
     @OneToMany(mappedBy = "movie")
     private Set<MovieProductionCompany> productionCompanies;
 
@@ -31,6 +31,10 @@ public class Review extends BaseEntity {
 
     private Float rating;
 
+    // Fingerprint of the TMDB review data last written, see ReviewBatchWriter
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @Builder.Default
     private Integer likes = 0;  // Optional: track likes on reviews
 }
\ No newline at end of file
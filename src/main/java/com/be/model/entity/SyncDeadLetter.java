@@ -0,0 +1,57 @@
+package com.be.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.ZonedDateTime;
+
+@Entity
+@Table(name = "sync_dead_letters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncDeadLetter {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // The sync step that failed; retries run the same step again
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_type", nullable = false, length = 50)
+    private SyncJobType jobType;
+
+    @Column(name = "tmdb_id", nullable = false)
+    private Long tmdbId;
+
+    // Local movie or cast id, needed by the per-movie steps
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    @Column(name = "entity_name")
+    private String entityName;
+
+    // Job or scheduler the item last failed in
+    @Column(length = 100)
+    private String source;
+
+    @Column(name = "error_class", nullable = false)
+    private String errorClass;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "first_failed_at", nullable = false)
+    private ZonedDateTime firstFailedAt;
+
+    @Column(name = "last_failed_at", nullable = false)
+    private ZonedDateTime lastFailedAt;
+
+    // Null once the item is parked: a permanent error or out of attempts
+    @Column(name = "next_attempt_at")
+    private ZonedDateTime nextAttemptAt;
+}
@@ -0,0 +1,63 @@
+package com.be.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.ZonedDateTime;
+
+@Entity
+@Table(name = "sync_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_type", nullable = false, length = 50)
+    private SyncJobType jobType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private SyncJobStatus status;
+
+    // Catalog id of the last item known to be handled, together with everything before it
+    @Column(name = "cursor_id")
+    private Long cursorId;
+
+    @Column(name = "total_items")
+    private long totalItems;
+
+    @Column(name = "processed_items")
+    private long processedItems;
+
+    @Column(name = "failed_items")
+    private long failedItems;
+
+    // Newline separated, capped at a few samples
+    @Column(name = "error_samples", columnDefinition = "TEXT")
+    private String errorSamples;
+
+    @Column(name = "result_message", columnDefinition = "TEXT")
+    private String resultMessage;
+
+    @Column(name = "started_at", nullable = false)
+    private ZonedDateTime startedAt;
+
+    // Start of the current run and the items already handled by earlier runs, for throughput after a resume
+    @Column(name = "run_started_at", nullable = false)
+    private ZonedDateTime runStartedAt;
+
+    @Column(name = "run_base_items")
+    private long runBaseItems;
+
+    @Column(name = "updated_at", nullable = false)
+    private ZonedDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private ZonedDateTime finishedAt;
+}
@@ -0,0 +1,7 @@
+package com.be.model.entity;
+
+public enum SyncJobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,8 @@
+package com.be.model.entity;
+
+public enum SyncJobType {
+    MOVIES_FULL,
+    MOVIE_CASTS,
+    MOVIE_REVIEWS,
+    CAST_DETAILS
+}
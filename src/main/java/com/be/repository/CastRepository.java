@@ -1,12 +1,38 @@
 package com.be.repository;
 
+import com.be.model.dto.CatalogItemDTO;
 import com.be.model.entity.Cast;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CastRepository extends JpaRepository<Cast, Long> {
     Optional<Cast> findByTmdbId(Long tmdbId);
+
+    @Query("SELECT c.tmdbId FROM Cast c WHERE c.tmdbId IN :tmdbIds")
+    List<Long> findExistingTmdbIds(@Param("tmdbIds") Collection<Long> tmdbIds);
+
+    // Keyset page over the catalog; the Pageable only carries the limit
+    @Query("SELECT new com.be.model.dto.CatalogItemDTO(c.id, c.tmdbId, c.name) FROM Cast c " +
+            "WHERE c.id > :afterId AND c.tmdbId IS NOT NULL ORDER BY c.id")
+    List<CatalogItemDTO> findCatalogAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT COUNT(c) FROM Cast c WHERE c.tmdbId IS NOT NULL")
+    long countWithTmdbId();
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Cast c SET c.popularity = :popularity, c.syncedAt = :syncedAt WHERE c.id = :id")
+    int markSynced(@Param("id") Long id, @Param("popularity") Float popularity,
+                   @Param("syncedAt") ZonedDateTime syncedAt);
 }
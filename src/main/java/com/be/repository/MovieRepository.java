@@ -1,5 +1,6 @@
 package com.be.repository;
 
+import com.be.model.dto.CatalogItemDTO;
 import com.be.model.entity.Genre;
 import com.be.model.entity.Movie;
 import com.be.model.entity.User;
@@ -18,6 +19,17 @@ import java.util.Optional;
 public interface MovieRepository extends JpaRepository<Movie, Long> {
     Optional<Movie> findByTmdbId(Long tmdbId);
 
+    @Query("SELECT m.tmdbId FROM Movie m WHERE m.tmdbId IN :tmdbIds")
+    List<Long> findExistingTmdbIds(@Param("tmdbIds") Collection<Long> tmdbIds);
+
+    // Keyset page over the catalog; the Pageable only carries the limit
+    @Query("SELECT new com.be.model.dto.CatalogItemDTO(m.id, m.tmdbId, m.title) FROM Movie m " +
+            "WHERE m.id > :afterId AND m.tmdbId IS NOT NULL ORDER BY m.id")
+    List<CatalogItemDTO> findCatalogAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT COUNT(m) FROM Movie m WHERE m.tmdbId IS NOT NULL")
+    long countWithTmdbId();
+
     @Query("SELECT m FROM Movie m " +
             "WHERE LOWER(m.title) LIKE LOWER(CONCAT('%', :query, '%')) " +
             "OR LOWER(m.overview) LIKE LOWER(CONCAT('%', :query, '%'))")
@@ -32,6 +44,25 @@ public interface MovieRepository extends JpaRepository<Movie, Long> {
             Pageable pageable
     );
 
+    // Pre-ranked list of the published category snapshot (see CategorySnapshotWriter)
+    @Query(value = """
+            SELECT m.* FROM movies m
+            JOIN category_snapshot_items i ON i.movie_id = m.id
+            JOIN category_heads h ON h.snapshot_id = i.snapshot_id
+            WHERE h.category = :category
+            ORDER BY i.rank
+            """,
+            countQuery = """
+                    SELECT COUNT(*) FROM category_snapshot_items i
+                    JOIN category_heads h ON h.snapshot_id = i.snapshot_id
+                    WHERE h.category = :category
+                    """,
+            nativeQuery = true)
+    Page<Movie> findMovieByCategorySnapshot(
+            @Param("category") String category,
+            Pageable pageable
+    );
+
     // Find user's favorite genres based on watched/rated movies
     @Query("""
                 SELECT DISTINCT g FROM Genre g
@@ -0,0 +1,40 @@
+package com.be.repository;
+
+import com.be.model.entity.SyncDeadLetter;
+import com.be.model.entity.SyncJobType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+@Repository
+public interface SyncDeadLetterRepository extends JpaRepository<SyncDeadLetter, Long> {
+    @Query("SELECT d FROM SyncDeadLetter d WHERE d.nextAttemptAt <= :now ORDER BY d.nextAttemptAt")
+    List<SyncDeadLetter> findDue(@Param("now") ZonedDateTime now, Pageable pageable);
+
+    @Query("""
+            SELECT d FROM SyncDeadLetter d
+            WHERE (:jobType IS NULL OR d.jobType = :jobType)
+              AND (:parked = false OR d.nextAttemptAt IS NULL)
+            ORDER BY d.lastFailedAt DESC
+            """)
+    Page<SyncDeadLetter> search(@Param("jobType") SyncJobType jobType,
+                                @Param("parked") boolean parkedOnly,
+                                Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            DELETE FROM SyncDeadLetter d
+            WHERE (:jobType IS NULL OR d.jobType = :jobType)
+              AND (:parked = false OR d.nextAttemptAt IS NULL)
+            """)
+    int purge(@Param("jobType") SyncJobType jobType, @Param("parked") boolean parkedOnly);
+}
@@ -0,0 +1,23 @@
+package com.be.repository;
+
+import com.be.model.entity.SyncJob;
+import com.be.model.entity.SyncJobStatus;
+import com.be.model.entity.SyncJobType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SyncJobRepository extends JpaRepository<SyncJob, Long> {
+    List<SyncJob> findByStatus(SyncJobStatus status);
+
+    Optional<SyncJob> findFirstByJobTypeAndStatus(SyncJobType jobType, SyncJobStatus status);
+
+    Page<SyncJob> findAllByOrderByIdDesc(Pageable pageable);
+
+    Page<SyncJob> findByStatusOrderByIdDesc(SyncJobStatus status, Pageable pageable);
+}
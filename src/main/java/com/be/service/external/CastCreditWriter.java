@@ -0,0 +1,122 @@
+package com.be.service.external;
+
+import com.be.model.dto.tmdb.TMDBCastDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based writer for a movie's cast list: casts are resolved with one {@code tmdb_id IN} query, the
+ * missing ones are inserted in one batch, and the movie_casts links go in one batch that ignores
+ * existing rows. A chunk of credits costs a constant number of round-trips however long it is.
+ */
+@Component
+@Slf4j
+public class CastCreditWriter {
+    // Same placeholder the person credit sync uses; character is part of the movie_casts key
+    static final String UNKNOWN_CHARACTER = "Unknown Role";
+
+    private static final String INSERT_CAST = """
+            INSERT INTO casts (tmdb_id, name, profile_path, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (tmdb_id) DO NOTHING
+            """;
+
+    private static final String INSERT_MOVIE_CAST = """
+            INSERT INTO movie_casts (movie_id, cast_id, "character", "role")
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (movie_id, cast_id, "character") DO NOTHING
+            """;
+
+    // movie_casts key within one movie
+    private record Role(Long castTmdbId, String character) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TMDBMetrics metrics;
+
+    public CastCreditWriter(JdbcTemplate jdbcTemplate,
+                            NamedParameterJdbcTemplate namedJdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            TMDBMetrics metrics) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Links the credits to the movie, creating casts that do not exist yet. A person playing several characters
+     * gets one link per character; repeated credits of the same character are written once.
+     * Returns the number of movie_casts rows inserted.
+     */
+    public int writeMovieCasts(Long movieId, List<TMDBCastDTO> credits) {
+        Map<Role, TMDBCastDTO> creditsByRole = new LinkedHashMap<>();
+        Map<Long, TMDBCastDTO> castsByTmdbId = new LinkedHashMap<>();
+        for (TMDBCastDTO credit : credits) {
+            if (credit.getId() != null && credit.getName() != null) {
+                creditsByRole.putIfAbsent(new Role(credit.getId(), normalizeCharacter(credit.getCharacter())), credit);
+                castsByTmdbId.putIfAbsent(credit.getId(), credit);
+            }
+        }
+        if (creditsByRole.isEmpty()) {
+            return 0;
+        }
+
+        int[] inserted = metrics.timeWrite("movie-casts", creditsByRole.size(), () -> transactionTemplate.execute(status -> {
+            Map<Long, Long> castIds = resolveCastIds(castsByTmdbId.keySet());
+
+            List<TMDBCastDTO> missing = castsByTmdbId.values().stream()
+                    .filter(credit -> !castIds.containsKey(credit.getId()))
+                    .toList();
+            if (!missing.isEmpty()) {
+                Timestamp now = Timestamp.from(Instant.now());
+                jdbcTemplate.batchUpdate(INSERT_CAST, missing.stream()
+                        .map(credit -> new Object[]{credit.getId(), credit.getName(), credit.getProfile_path(), now, now})
+                        .toList());
+                castIds.putAll(resolveCastIds(missing.stream().map(TMDBCastDTO::getId).toList()));
+            }
+
+            List<Object[]> links = creditsByRole.entrySet().stream()
+                    .filter(role -> castIds.containsKey(role.getKey().castTmdbId()))
+                    .map(role -> new Object[]{movieId, castIds.get(role.getKey().castTmdbId()),
+                            role.getKey().character(), role.getValue().getKnown_for_department()})
+                    .toList();
+            return jdbcTemplate.batchUpdate(INSERT_MOVIE_CAST, links);
+        }));
+
+        int count = 0;
+        for (int rows : inserted) {
+            // Rewritten batches report SUCCESS_NO_INFO (-2) instead of a row count
+            count += Math.max(rows, 0);
+        }
+        log.debug("Wrote {} cast credits for movie {}", count, movieId);
+        return count;
+    }
+
+    private Map<Long, Long> resolveCastIds(Collection<Long> tmdbIds) {
+        Map<Long, Long> ids = new HashMap<>();
+        namedJdbcTemplate.query("SELECT id, tmdb_id FROM casts WHERE tmdb_id IN (:tmdbIds)",
+                Map.of("tmdbIds", tmdbIds),
+                rs -> {
+                    ids.put(rs.getLong("tmdb_id"), rs.getLong("id"));
+                });
+        return ids;
+    }
+
+    static String normalizeCharacter(String character) {
+        return character == null || character.isBlank() ? UNKNOWN_CHARACTER : character;
+    }
+}
@@ -0,0 +1,84 @@
+package com.be.service.external;
+
+import com.be.model.dto.CatalogItemDTO;
+import com.be.repository.CastRepository;
+import com.be.repository.MovieRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Walks the movie and cast catalogs in id order, one chunk of {@code app.tmdb.catalog.chunk-size} rows at a time.
+ * Each chunk is read by its own short read-only transaction (so its own persistence context) and only
+ * holds id, TMDB id and name, which keeps bulk jobs flat in memory however large the catalog grows.
+ */
+@Component
+@Slf4j
+public class CatalogIterator {
+    private final MovieRepository movieRepository;
+    private final CastRepository castRepository;
+    private final TransactionTemplate readTemplate;
+    private final int chunkSize;
+
+    public CatalogIterator(MovieRepository movieRepository,
+                           CastRepository castRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.tmdb.catalog.chunk-size:500}") int chunkSize) {
+        this.movieRepository = movieRepository;
+        this.castRepository = castRepository;
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public long countMovies() {
+        return movieRepository.countWithTmdbId();
+    }
+
+    public long countCasts() {
+        return castRepository.countWithTmdbId();
+    }
+
+    /**
+     * Hands every movie with a TMDB id above {@code afterId} to {@code chunkConsumer}, in chunks,
+     * and returns how many were visited. Pass 0 to start from the beginning.
+     */
+    public long forEachMovieChunk(long afterId, Consumer<List<CatalogItemDTO>> chunkConsumer) {
+        return iterate(movieRepository::findCatalogAfter, afterId, chunkConsumer);
+    }
+
+    public long forEachCastChunk(long afterId, Consumer<List<CatalogItemDTO>> chunkConsumer) {
+        return iterate(castRepository::findCatalogAfter, afterId, chunkConsumer);
+    }
+
+    private long iterate(BiFunction<Long, Pageable, List<CatalogItemDTO>> query,
+                         long afterId,
+                         Consumer<List<CatalogItemDTO>> chunkConsumer) {
+        Pageable limit = PageRequest.of(0, chunkSize);
+        long visited = 0;
+
+        while (true) {
+            long cursor = afterId;
+            List<CatalogItemDTO> chunk = readTemplate.execute(status -> query.apply(cursor, limit));
+            if (chunk == null || chunk.isEmpty()) {
+                return visited;
+            }
+
+            chunkConsumer.accept(chunk);
+            visited += chunk.size();
+            afterId = chunk.get(chunk.size() - 1).getId();
+
+            if (chunk.size() < chunkSize) {
+                return visited;
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.be.service.external;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Publishes the ranked movie list of a category (trending, popular) as an immutable snapshot.
+ * <p>
+ * The snapshot rows and the move of {@code category_heads} happen in one transaction, so readers see
+ * either the previous list or the new one, never a mix. The head only moves to a snapshot of a sync run that
+ * started later than the one it points at, so a run that started first but finishes last cannot replace the
+ * newer list. All but the {@code keep} most recent snapshots of the category are deleted after publishing.
+ */
+@Component
+@Slf4j
+public class CategorySnapshotWriter {
+    private static final String INSERT_SNAPSHOT = """
+            INSERT INTO category_snapshots (category, item_count, run_started_at, created_at)
+            VALUES (?, ?, ?, now())
+            RETURNING id
+            """;
+
+    private static final String INSERT_ITEM = """
+            INSERT INTO category_snapshot_items (snapshot_id, rank, movie_id)
+            VALUES (?, ?, ?)
+            """;
+
+    // Snapshot ids follow the order runs finish in, so only the run start decides; the id breaks ties
+    private static final String MOVE_HEAD = """
+            INSERT INTO category_heads (category, snapshot_id, run_started_at, published_at)
+            VALUES (?, ?, ?, now())
+            ON CONFLICT (category) DO UPDATE SET
+                snapshot_id = EXCLUDED.snapshot_id,
+                run_started_at = EXCLUDED.run_started_at,
+                published_at = EXCLUDED.published_at
+            WHERE (category_heads.run_started_at, category_heads.snapshot_id)
+                  < (EXCLUDED.run_started_at, EXCLUDED.snapshot_id)
+            """;
+
+    // Keeps the newest snapshots and never the one the head points at
+    private static final String DELETE_OLD_SNAPSHOTS = """
+            DELETE FROM category_snapshots s
+            WHERE s.category = ?
+              AND s.id NOT IN (SELECT h.snapshot_id FROM category_heads h)
+              AND s.id NOT IN (SELECT k.id FROM category_snapshots k
+                               WHERE k.category = ?
+                               ORDER BY k.run_started_at DESC, k.id DESC
+                               LIMIT ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TMDBMetrics metrics;
+    private final int keep;
+
+    public CategorySnapshotWriter(JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  TMDBMetrics metrics,
+                                  @Value("${app.tmdb.category-snapshots.keep:3}") int keep) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.metrics = metrics;
+        this.keep = Math.max(1, keep);
+    }
+
+    /**
+     * Publishes {@code movieIds} in rank order as the current list of {@code category}, unless a sync run that
+     * started after {@code runStartedAt} already published one. Duplicates keep their first rank; an empty list
+     * publishes nothing. Returns the snapshot id, or null.
+     */
+    public Long publish(String category, List<Long> movieIds, Instant runStartedAt) {
+        Timestamp runStart = Timestamp.from(runStartedAt);
+        Set<Long> ranked = new LinkedHashSet<>();
+        for (Long movieId : movieIds) {
+            if (movieId != null) {
+                ranked.add(movieId);
+            }
+        }
+        if (ranked.isEmpty()) {
+            log.warn("Not publishing an empty {} snapshot, keeping the current one", category);
+            return null;
+        }
+
+        Long snapshotId = metrics.timeWrite("category-snapshots", ranked.size(), () -> transactionTemplate.execute(status -> {
+            Long id = jdbcTemplate.queryForObject(INSERT_SNAPSHOT, Long.class, category, ranked.size(), runStart);
+
+            List<Object[]> items = new ArrayList<>(ranked.size());
+            int rank = 1;
+            for (Long movieId : ranked) {
+                items.add(new Object[]{id, rank++, movieId});
+            }
+            jdbcTemplate.batchUpdate(INSERT_ITEM, items);
+
+            int moved = jdbcTemplate.update(MOVE_HEAD, category, id, runStart);
+            if (moved == 0) {
+                log.warn("{} snapshot {} comes from a run older than the published one, not moving the head",
+                        category, id);
+            }
+            return id;
+        }));
+
+        try {
+            int deleted = jdbcTemplate.update(DELETE_OLD_SNAPSHOTS, category, category, keep);
+            log.info("Published {} snapshot {} with {} movies, removed {} old snapshots",
+                    category, snapshotId, ranked.size(), deleted);
+        } catch (Exception e) {
+            // The next publish collects them again
+            log.warn("Could not remove old {} snapshots: {}", category, e.getMessage());
+        }
+        return snapshotId;
+    }
+}
@@ -0,0 +1,51 @@
+package com.be.service.external;
+
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * SHA-256 fingerprint of the values a sync writes for one row, stored in its {@code content_hash} column.
+ * An unchanged fingerprint means TMDB returned the same data and the write can be skipped.
+ * <p>
+ * Values are joined with a separator that does not occur in TMDB text, nulls get their own marker, and
+ * collections are sorted so that the order TMDB lists them in does not count as a change.
+ */
+final class ContentHash {
+    private static final char SEPARATOR = '\u001f';
+    private static final String NULL = "\u0000";
+
+    private ContentHash() {
+    }
+
+    static String of(Object... values) {
+        StringBuilder normalized = new StringBuilder();
+        for (Object value : values) {
+            normalized.append(normalize(value)).append(SEPARATOR);
+        }
+        return Hashing.sha256().hashString(normalized, StandardCharsets.UTF_8).toString();
+    }
+
+    private static String normalize(Object value) {
+        if (value == null) {
+            return NULL;
+        }
+        if (value instanceof Collection<?> collection) {
+            return collection.stream()
+                    .map(ContentHash::normalize)
+                    .sorted()
+                    .collect(Collectors.joining(String.valueOf(SEPARATOR), "[", "]"));
+        }
+        if (value instanceof Object[] array) {
+            StringBuilder builder = new StringBuilder("(");
+            for (Object element : array) {
+                builder.append(normalize(element)).append(SEPARATOR);
+            }
+            return builder.append(')').toString();
+        }
+        return Objects.toString(value);
+    }
+}
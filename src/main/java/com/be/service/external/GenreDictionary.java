@@ -0,0 +1,51 @@
+package com.be.service.external;
+
+import com.be.model.entity.Genre;
+import com.be.repository.GenreRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory tmdbId -> genre lookup, loaded from the {@code genres} table at startup and replaced as a
+ * whole on {@link #reload()}. Readers never see a half-built map and never hit the database.
+ * <p>
+ * Entries are detached copies holding only {@code id}, {@code tmdbId} and {@code name}.
+ */
+@Component
+@Slf4j
+public class GenreDictionary {
+    private final GenreRepository genreRepository;
+    private volatile Map<Long, Genre> genresByTmdbId = Map.of();
+
+    public GenreDictionary(GenreRepository genreRepository) {
+        this.genreRepository = genreRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        genresByTmdbId = genreRepository.findAll().stream()
+                .filter(genre -> genre.getTmdbId() != null)
+                .map(genre -> Genre.builder()
+                        .id(genre.getId())
+                        .tmdbId(genre.getTmdbId())
+                        .name(genre.getName())
+                        .build())
+                .collect(Collectors.toUnmodifiableMap(Genre::getTmdbId, Function.identity(), (a, b) -> a));
+        log.info("Genre dictionary loaded with {} genres", genresByTmdbId.size());
+    }
+
+    public Optional<Genre> get(Long tmdbId) {
+        return Optional.ofNullable(genresByTmdbId.get(tmdbId));
+    }
+
+    public int size() {
+        return genresByTmdbId.size();
+    }
+}
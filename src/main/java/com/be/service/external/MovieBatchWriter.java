@@ -0,0 +1,402 @@
+package com.be.service.external;
+
+import com.be.model.entity.Genre;
+import com.be.model.entity.Movie;
+import com.be.model.entity.MovieCollection;
+import com.be.model.entity.MovieProductionCompany;
+import com.be.model.entity.ProductionCountry;
+import com.be.model.entity.SpokenLanguage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Set-based writer for a page of TMDB movies. Movies are upserted with one JDBC batch keyed on
+ * {@code tmdb_id}, their IDs are resolved with a single {@code IN} query, and categories, genres,
+ * companies and the element collections are replaced with one batch each - all in one transaction.
+ * <p>
+ * Each movie carries a {@link ContentHash} of its slow-moving content: the descriptive columns, the genres,
+ * companies and element collections. Popularity and votes move on every sync, so they are left out of the
+ * hash and always written. Movies whose stored hash matches only get those scalars and {@code synced_at}
+ * updated; their row and collections are not rewritten.
+ * <p>
+ * Input movies are unsaved entities filled by {@code TMDBService}; their {@code genres} only need
+ * {@code tmdbId} and {@code name}.
+ */
+@Component
+@Slf4j
+public class MovieBatchWriter {
+    private static final String UPSERT_MOVIE = """
+            INSERT INTO movies (tmdb_id, title, original_title, overview, release_date, runtime,
+                                poster_path, backdrop_path, poster_url, backdrop_url, popularity,
+                                vote_average, vote_count, adult, budget, homepage, imdb_id,
+                                original_language, revenue, status, tagline, collection_id,
+                                collection_name, collection_poster_path, collection_backdrop_path,
+                                content_hash, synced_at, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (tmdb_id) DO UPDATE SET
+                title = EXCLUDED.title,
+                original_title = EXCLUDED.original_title,
+                overview = EXCLUDED.overview,
+                release_date = EXCLUDED.release_date,
+                runtime = EXCLUDED.runtime,
+                poster_path = EXCLUDED.poster_path,
+                backdrop_path = EXCLUDED.backdrop_path,
+                poster_url = EXCLUDED.poster_url,
+                backdrop_url = EXCLUDED.backdrop_url,
+                popularity = EXCLUDED.popularity,
+                vote_average = EXCLUDED.vote_average,
+                vote_count = EXCLUDED.vote_count,
+                adult = EXCLUDED.adult,
+                budget = EXCLUDED.budget,
+                homepage = EXCLUDED.homepage,
+                imdb_id = EXCLUDED.imdb_id,
+                original_language = EXCLUDED.original_language,
+                revenue = EXCLUDED.revenue,
+                status = EXCLUDED.status,
+                tagline = EXCLUDED.tagline,
+                collection_id = EXCLUDED.collection_id,
+                collection_name = EXCLUDED.collection_name,
+                collection_poster_path = EXCLUDED.collection_poster_path,
+                collection_backdrop_path = EXCLUDED.collection_backdrop_path,
+                content_hash = EXCLUDED.content_hash,
+                synced_at = EXCLUDED.synced_at,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    private static final String UPDATE_VOLATILE = """
+            UPDATE movies SET popularity = ?, vote_average = ?, vote_count = ?, synced_at = ?
+            WHERE tmdb_id = ?
+            """;
+
+    private static final String UPSERT_CATEGORY = """
+            INSERT INTO movie_categories (movie_id, category, created_at, updated_at)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (movie_id, category) DO UPDATE SET updated_at = EXCLUDED.updated_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final GenreDictionary genreDictionary;
+    private final TMDBMetrics metrics;
+
+    public MovieBatchWriter(JdbcTemplate jdbcTemplate,
+                            NamedParameterJdbcTemplate namedJdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            GenreDictionary genreDictionary,
+                            TMDBMetrics metrics) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.genreDictionary = genreDictionary;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Upserts the movies and tags each with {@code category} (if not null).
+     * Returns the local movie ID per TMDB ID together with the written and unchanged counts.
+     */
+    public MovieWriteResult upsertMovies(List<Movie> movies, String category) {
+        Map<Long, Movie> rowsByTmdbId = new LinkedHashMap<>();
+        for (Movie movie : movies) {
+            if (movie.getTmdbId() != null && movie.getTitle() != null) {
+                movie.setContentHash(contentHash(movie));
+                rowsByTmdbId.put(movie.getTmdbId(), movie);
+            }
+        }
+        if (rowsByTmdbId.isEmpty()) {
+            return MovieWriteResult.empty();
+        }
+        List<Movie> rows = List.copyOf(rowsByTmdbId.values());
+
+        boolean[] newGenres = new boolean[1];
+        int[] written = new int[1];
+        Map<Long, Long> movieIds = metrics.timeWrite("movies", rows.size(), () -> transactionTemplate.execute(status -> {
+            Timestamp now = Timestamp.from(Instant.now());
+
+            Map<Long, String> storedHashes = new HashMap<>();
+            Map<Long, Long> ids = new HashMap<>();
+            namedJdbcTemplate.query("SELECT id, tmdb_id, content_hash FROM movies WHERE tmdb_id IN (:tmdbIds)",
+                    Map.of("tmdbIds", rowsByTmdbId.keySet()),
+                    rs -> {
+                        ids.put(rs.getLong("tmdb_id"), rs.getLong("id"));
+                        storedHashes.put(rs.getLong("tmdb_id"), rs.getString("content_hash"));
+                    });
+
+            List<Movie> changed = rows.stream()
+                    .filter(movie -> !movie.getContentHash().equals(storedHashes.get(movie.getTmdbId())))
+                    .toList();
+            written[0] = changed.size();
+
+            // Unchanged movies still get the current popularity and votes, and were checked against TMDB just now
+            List<Object[]> unchanged = rows.stream()
+                    .filter(movie -> movie.getContentHash().equals(storedHashes.get(movie.getTmdbId())))
+                    .map(movie -> new Object[]{movie.getPopularity(), movie.getVoteAverage(), movie.getVoteCount(),
+                            now, movie.getTmdbId()})
+                    .toList();
+            if (!unchanged.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_VOLATILE, unchanged);
+            }
+
+            if (!changed.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT_MOVIE, changed.stream()
+                        .map(movie -> movieRow(movie, now))
+                        .toList());
+                List<Long> newTmdbIds = changed.stream()
+                        .map(Movie::getTmdbId)
+                        .filter(tmdbId -> !ids.containsKey(tmdbId))
+                        .toList();
+                if (!newTmdbIds.isEmpty()) {
+                    ids.putAll(resolveMovieIds(newTmdbIds));
+                }
+
+                newGenres[0] = writeGenres(changed, ids);
+                writeCompanies(changed, ids);
+                writeElementCollections(changed, ids);
+            }
+
+            if (category != null) {
+                jdbcTemplate.batchUpdate(UPSERT_CATEGORY, rows.stream()
+                        .map(movie -> new Object[]{ids.get(movie.getTmdbId()), category, now, now})
+                        .toList());
+            }
+            return ids;
+        }));
+
+        if (newGenres[0]) {
+            genreDictionary.reload();
+        }
+
+        log.info("Batch upserted {} movies{}, {} unchanged", written[0],
+                category != null ? " into " + category : "", rows.size() - written[0]);
+        return MovieWriteResult.builder()
+                .movieIds(movieIds)
+                .written(written[0])
+                .unchanged(rows.size() - written[0])
+                .build();
+    }
+
+    public Map<Long, Long> resolveMovieIds(Collection<Long> tmdbIds) {
+        Map<Long, Long> ids = new HashMap<>();
+        namedJdbcTemplate.query("SELECT id, tmdb_id FROM movies WHERE tmdb_id IN (:tmdbIds)",
+                Map.of("tmdbIds", tmdbIds),
+                rs -> {
+                    ids.put(rs.getLong("tmdb_id"), rs.getLong("id"));
+                });
+        return ids;
+    }
+
+    private Object[] movieRow(Movie movie, Timestamp now) {
+        MovieCollection collection = movie.getCollection();
+        return new Object[]{
+                movie.getTmdbId(),
+                movie.getTitle(),
+                movie.getOriginalTitle(),
+                movie.getOverview(),
+                movie.getReleaseDate() != null ? Date.valueOf(movie.getReleaseDate()) : null,
+                movie.getRuntime(),
+                movie.getPosterPath(),
+                movie.getBackdropPath(),
+                movie.getPosterUrl(),
+                movie.getBackdropUrl(),
+                movie.getPopularity(),
+                movie.getVoteAverage(),
+                movie.getVoteCount(),
+                movie.getAdult(),
+                movie.getBudget(),
+                movie.getHomepage(),
+                movie.getImdbId(),
+                movie.getOriginalLanguage(),
+                movie.getRevenue(),
+                movie.getStatus(),
+                movie.getTagline(),
+                collection != null ? collection.getId() : null,
+                collection != null ? collection.getName() : null,
+                collection != null ? collection.getPosterPath() : null,
+                collection != null ? collection.getBackdropPath() : null,
+                movie.getContentHash(),
+                now,
+                now,
+                now
+        };
+    }
+
+    // Everything this writer stores for the movie except popularity and votes; nested rows are flattened
+    // to their written columns
+    static String contentHash(Movie movie) {
+        Object[] row = new Object[]{
+                movie.getTitle(), movie.getOriginalTitle(), movie.getOverview(), movie.getReleaseDate(),
+                movie.getRuntime(), movie.getPosterPath(), movie.getBackdropPath(), movie.getPosterUrl(),
+                movie.getBackdropUrl(), movie.getAdult(), movie.getBudget(), movie.getHomepage(), movie.getImdbId(),
+                movie.getOriginalLanguage(), movie.getRevenue(), movie.getStatus(), movie.getTagline()
+        };
+        MovieCollection collection = movie.getCollection();
+        return ContentHash.of(
+                row,
+                collection != null ? new Object[]{collection.getId(), collection.getName(),
+                        collection.getPosterPath(), collection.getBackdropPath()} : null,
+                movie.getGenres() != null
+                        ? movie.getGenres().stream().map(Genre::getTmdbId).toList() : null,
+                movie.getProductionCompanies() != null
+                        ? movie.getProductionCompanies().stream()
+                        .map(company -> new Object[]{company.getTmdbId(), company.getName(),
+                                company.getLogoPath(), company.getOriginCountry()})
+                        .toList() : null,
+                movie.getOriginCountries(),
+                movie.getProductionCountries() != null
+                        ? movie.getProductionCountries().stream()
+                        .map(country -> new Object[]{country.getIso31661(), country.getName()})
+                        .toList() : null,
+                movie.getSpokenLanguages() != null
+                        ? movie.getSpokenLanguages().stream()
+                        .map(language -> new Object[]{language.getEnglishName(), language.getIso6391(),
+                                language.getName()})
+                        .toList() : null);
+    }
+
+    /**
+     * Genres are replaced as a whole, like Movie.setGenres does. They are resolved through the
+     * {@link GenreDictionary}; only genres it does not know yet are inserted and looked up.
+     * Returns whether such genres were found, i.e. the dictionary needs a reload.
+     */
+    private boolean writeGenres(List<Movie> rows, Map<Long, Long> movieIds) {
+        List<Movie> withGenres = rows.stream().filter(movie -> movie.getGenres() != null).toList();
+        if (withGenres.isEmpty()) {
+            return false;
+        }
+
+        Map<Long, Long> genreIds = new HashMap<>();
+        List<Genre> unknownGenres = new ArrayList<>();
+        withGenres.stream()
+                .flatMap(movie -> movie.getGenres().stream())
+                .filter(genre -> genre.getTmdbId() != null)
+                .forEach(genre -> genreDictionary.get(genre.getTmdbId()).ifPresentOrElse(
+                        known -> genreIds.put(known.getTmdbId(), known.getId()),
+                        () -> unknownGenres.add(genre)));
+        if (!unknownGenres.isEmpty()) {
+            genreIds.putAll(insertGenres(unknownGenres));
+        }
+
+        deleteForMovies("movie_genres", withGenres, movieIds);
+        List<Object[]> links = new ArrayList<>();
+        for (Movie movie : withGenres) {
+            movie.getGenres().stream()
+                    .map(genre -> genreIds.get(genre.getTmdbId()))
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .forEach(genreId -> links.add(new Object[]{movieIds.get(movie.getTmdbId()), genreId}));
+        }
+        if (!links.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO movie_genres (movie_id, genre_id) VALUES (?, ?) ON CONFLICT DO NOTHING",
+                    links);
+        }
+        return !unknownGenres.isEmpty();
+    }
+
+    private Map<Long, Long> insertGenres(List<Genre> genres) {
+        List<Object[]> newGenres = genres.stream()
+                .filter(genre -> genre.getName() != null)
+                .map(genre -> new Object[]{genre.getTmdbId(), genre.getName()})
+                .toList();
+        if (!newGenres.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO genres (tmdb_id, name) VALUES (?, ?) ON CONFLICT DO NOTHING",
+                    newGenres);
+        }
+
+        Map<Long, Long> genreIds = new HashMap<>();
+        namedJdbcTemplate.query("SELECT id, tmdb_id FROM genres WHERE tmdb_id IN (:tmdbIds)",
+                Map.of("tmdbIds", genres.stream().map(Genre::getTmdbId).distinct().toList()),
+                rs -> {
+                    genreIds.put(rs.getLong("tmdb_id"), rs.getLong("id"));
+                });
+        return genreIds;
+    }
+
+    private void writeCompanies(List<Movie> rows, Map<Long, Long> movieIds) {
+        List<Movie> withCompanies = rows.stream().filter(movie -> movie.getProductionCompanies() != null).toList();
+        if (withCompanies.isEmpty()) {
+            return;
+        }
+
+        deleteForMovies("production_companies", withCompanies, movieIds);
+        List<Object[]> companies = new ArrayList<>();
+        for (Movie movie : withCompanies) {
+            for (MovieProductionCompany company : movie.getProductionCompanies()) {
+                companies.add(new Object[]{movieIds.get(movie.getTmdbId()), company.getTmdbId(), company.getName(),
+                        company.getLogoPath(), company.getOriginCountry()});
+            }
+        }
+        if (!companies.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO production_companies (movie_id, tmdb_id, name, logo_path, origin_country) "
+                    + "VALUES (?, ?, ?, ?, ?)", companies);
+        }
+    }
+
+    private void writeElementCollections(List<Movie> rows, Map<Long, Long> movieIds) {
+        List<Movie> withCountries = rows.stream().filter(movie -> movie.getOriginCountries() != null).toList();
+        deleteForMovies("movie_origin_countries", withCountries, movieIds);
+        List<Object[]> originCountries = new ArrayList<>();
+        for (Movie movie : withCountries) {
+            for (String countryCode : movie.getOriginCountries()) {
+                originCountries.add(new Object[]{movieIds.get(movie.getTmdbId()), countryCode});
+            }
+        }
+        insertIgnoringDuplicates("INSERT INTO movie_origin_countries (movie_id, country_code) VALUES (?, ?)",
+                originCountries);
+
+        List<Movie> withProductionCountries = rows.stream()
+                .filter(movie -> movie.getProductionCountries() != null)
+                .toList();
+        deleteForMovies("movie_production_countries", withProductionCountries, movieIds);
+        List<Object[]> productionCountries = new ArrayList<>();
+        for (Movie movie : withProductionCountries) {
+            for (ProductionCountry country : movie.getProductionCountries()) {
+                productionCountries.add(new Object[]{movieIds.get(movie.getTmdbId()),
+                        country.getIso31661(), country.getName()});
+            }
+        }
+        insertIgnoringDuplicates("INSERT INTO movie_production_countries (movie_id, iso_3166_1, name) VALUES (?, ?, ?)",
+                productionCountries);
+
+        List<Movie> withLanguages = rows.stream().filter(movie -> movie.getSpokenLanguages() != null).toList();
+        deleteForMovies("movie_spoken_languages", withLanguages, movieIds);
+        List<Object[]> languages = new ArrayList<>();
+        for (Movie movie : withLanguages) {
+            for (SpokenLanguage language : movie.getSpokenLanguages()) {
+                languages.add(new Object[]{movieIds.get(movie.getTmdbId()),
+                        language.getEnglishName(), language.getIso6391(), language.getName()});
+            }
+        }
+        insertIgnoringDuplicates("INSERT INTO movie_spoken_languages (movie_id, english_name, iso_639_1, name) "
+                + "VALUES (?, ?, ?, ?)", languages);
+    }
+
+    private void deleteForMovies(String table, List<Movie> movies, Map<Long, Long> movieIds) {
+        if (movies.isEmpty()) {
+            return;
+        }
+        // Table names are constants from this class
+        namedJdbcTemplate.update("DELETE FROM " + table + " WHERE movie_id IN (:movieIds)",
+                Map.of("movieIds", movies.stream().map(movie -> movieIds.get(movie.getTmdbId())).toList()));
+    }
+
+    private void insertIgnoringDuplicates(String insertSql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(insertSql + " ON CONFLICT DO NOTHING", rows);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.be.service.external;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Outcome of a {@link MovieBatchWriter} call: the local movie id per TMDB id for every input movie,
+ * and how many rows were written versus skipped because their content hash had not changed.
+ */
+@Getter
+@Builder
+public class MovieWriteResult {
+    private final Map<Long, Long> movieIds;
+    private final int written;
+    private final int unchanged;
+
+    public static MovieWriteResult empty() {
+        return MovieWriteResult.builder().movieIds(Map.of()).build();
+    }
+}
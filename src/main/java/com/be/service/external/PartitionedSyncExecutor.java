@@ -0,0 +1,275 @@
+package com.be.service.external;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.RateLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs a bulk sync job across {@code app.tmdb.sync.workers} workers instead of on the single
+ * {@code @Async} thread that started it.
+ * <p>
+ * The source feeds chunks (for example from {@link CatalogIterator}); each chunk is split into partitions of
+ * {@code partition-size} items and every partition is handled by one worker, item by item. Since a worker
+ * holds one item at a time, the worker count is also the bound on in-flight TMDB calls for the job; the
+ * shared {@link TMDBRateLimiter} still applies on top. The source blocks while all workers are busy, so
+ * at most {@code workers} partitions are in memory at once.
+ * <p>
+ * Items never share a transaction: each one commits through its own sync step, so a failure only loses
+ * that item and is recorded in the result. With {@code target-rate} above zero, items are started no faster
+ * than that many per second.
+ * <p>
+ * Workers are virtual threads when the JDK provides them (21+) and {@code virtual-threads} is enabled,
+ * and a fixed platform thread pool otherwise.
+ * <p>
+ * Chunks finish out of order, so the optional {@link CheckpointListener} is only told about a chunk once it
+ * and every chunk before it are done; its last item is then a safe point to resume from. The counts and
+ * errors it is given cover those released chunks only, never items of chunks still behind the cursor.
+ */
+@Component
+@Slf4j
+public class PartitionedSyncExecutor {
+    private static final int MAX_KEPT_ERRORS = 100;
+
+    @FunctionalInterface
+    public interface CheckpointListener<T> {
+        void onCheckpoint(T lastItem, long processed, long failed, List<String> errors);
+    }
+
+    private final int workers;
+    private final int partitionSize;
+    private final double targetRate;
+    private final boolean virtualThreads;
+    private final TMDBMetrics metrics;
+
+    public PartitionedSyncExecutor(TMDBMetrics metrics,
+                                   @Value("${app.tmdb.sync.workers:8}") int workers,
+                                   @Value("${app.tmdb.sync.partition-size:25}") int partitionSize,
+                                   @Value("${app.tmdb.sync.target-rate:0}") double targetRate,
+                                   @Value("${app.tmdb.sync.virtual-threads:true}") boolean virtualThreads) {
+        this.metrics = metrics;
+        this.workers = Math.max(1, workers);
+        this.partitionSize = Math.max(1, partitionSize);
+        this.targetRate = targetRate;
+        this.virtualThreads = virtualThreads && supportsVirtualThreads();
+        log.info("Sync executor: {} workers on {} threads, partitions of {}, target rate {}",
+                this.workers, this.virtualThreads ? "virtual" : "platform", this.partitionSize,
+                targetRate > 0 ? targetRate + "/s" : "unbounded");
+    }
+
+    /**
+     * Feeds every chunk produced by {@code source} to the workers and blocks until all items are done.
+     *
+     * @param expectedTotal item count used for progress logs only
+     * @param describe      how an item is named in error messages
+     */
+    public <T> SyncRunResult run(String jobName,
+                                 long expectedTotal,
+                                 Consumer<Consumer<List<T>>> source,
+                                 Consumer<T> task,
+                                 Function<T, String> describe) {
+        return run(jobName, expectedTotal, source, task, describe, null);
+    }
+
+    public <T> SyncRunResult run(String jobName,
+                                 long expectedTotal,
+                                 Consumer<Consumer<List<T>>> source,
+                                 Consumer<T> task,
+                                 Function<T, String> describe,
+                                 CheckpointListener<T> checkpointListener) {
+        long startNanos = System.nanoTime();
+        AtomicLong processed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        RateLimiter pacer = targetRate > 0 ? RateLimiter.create(targetRate) : null;
+        Semaphore slots = new Semaphore(workers);
+        ExecutorService executor = newWorkerExecutor(jobName);
+        CheckpointOrder<T> checkpoints = new CheckpointOrder<>();
+        AtomicInteger inFlight = metrics.inFlight(jobName);
+
+        try {
+            source.accept(chunk -> {
+                if (chunk.isEmpty()) {
+                    return;
+                }
+                List<List<T>> partitions = Lists.partition(chunk, partitionSize);
+                long chunkSeq = checkpoints.register();
+                AtomicInteger remaining = new AtomicInteger(partitions.size());
+                T lastItem = chunk.get(chunk.size() - 1);
+                ChunkTally tally = new ChunkTally();
+
+                for (List<T> partition : partitions) {
+                    acquire(slots);
+                    try {
+                        executor.execute(() -> {
+                            try {
+                                runPartition(jobName, expectedTotal, partition, task, describe,
+                                        pacer, inFlight, processed, failed, errors, tally);
+                                if (remaining.decrementAndGet() == 0 && checkpointListener != null) {
+                                    checkpoints.complete(chunkSeq, lastItem, tally, checkpointListener);
+                                }
+                            } catch (Exception e) {
+                                log.error("Checkpoint of sync job {} failed: ", jobName, e);
+                            } finally {
+                                slots.release();
+                            }
+                        });
+                    } catch (RejectedExecutionException e) {
+                        slots.release();
+                        throw e;
+                    }
+                }
+            });
+        } finally {
+            // Every worker gives its slot back when done, so taking all of them waits for the stragglers
+            slots.acquireUninterruptibly(workers);
+            executor.shutdown();
+        }
+
+        SyncRunResult result = SyncRunResult.builder()
+                .jobName(jobName)
+                .processed(processed.get())
+                .failed(failed.get())
+                .errors(List.copyOf(errors))
+                .elapsed(Duration.ofNanos(System.nanoTime() - startNanos))
+                .build();
+        metrics.recordRun(result);
+        log.info("Sync job {} finished: {} processed, {} failed in {} s ({} items/s)", jobName,
+                result.getProcessed(), result.getFailed(), result.getElapsed().toSeconds(),
+                String.format("%.1f", result.getItemsPerSecond()));
+        return result;
+    }
+
+    private <T> void runPartition(String jobName, long expectedTotal, List<T> partition,
+                                  Consumer<T> task, Function<T, String> describe, RateLimiter pacer,
+                                  AtomicInteger inFlight, AtomicLong processed, AtomicLong failed,
+                                  List<String> errors, ChunkTally tally) {
+        for (T item : partition) {
+            if (pacer != null) {
+                pacer.acquire();
+            }
+            long startNanos = System.nanoTime();
+            inFlight.incrementAndGet();
+            try {
+                task.accept(item);
+                metrics.recordItem(jobName, true, System.nanoTime() - startNanos);
+                tally.processed.incrementAndGet();
+                long done = processed.incrementAndGet();
+                log.info("Progress {}: {}/{} processed", jobName, done + failed.get(), expectedTotal);
+            } catch (Exception e) {
+                metrics.recordItem(jobName, false, System.nanoTime() - startNanos);
+                failed.incrementAndGet();
+                tally.failed.incrementAndGet();
+                String error = String.format("Error in %s for %s: %s", jobName, describe.apply(item), e.getMessage());
+                if (errors.size() < MAX_KEPT_ERRORS) {
+                    errors.add(error);
+                }
+                if (tally.errors.size() < MAX_KEPT_ERRORS) {
+                    tally.errors.add(error);
+                }
+                log.error(error, e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    // Outcomes of the items of one chunk
+    static class ChunkTally {
+        final AtomicLong processed = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    // Releases chunk checkpoints in the order the chunks were handed out, with the totals of the released chunks
+    static class CheckpointOrder<T> {
+        private record Completed<T>(T lastItem, ChunkTally tally) {
+        }
+
+        private final TreeMap<Long, Completed<T>> completed = new TreeMap<>();
+        private final List<String> releasedErrors = new ArrayList<>();
+        private long registered;
+        private long nextToRelease;
+        private long releasedProcessed;
+        private long releasedFailed;
+
+        synchronized long register() {
+            return registered++;
+        }
+
+        synchronized void complete(long chunkSeq, T lastItem, ChunkTally tally, CheckpointListener<T> listener) {
+            completed.put(chunkSeq, new Completed<>(lastItem, tally));
+            T last = null;
+            while (completed.containsKey(nextToRelease)) {
+                Completed<T> chunk = completed.remove(nextToRelease++);
+                last = chunk.lastItem();
+                releasedProcessed += chunk.tally().processed.get();
+                releasedFailed += chunk.tally().failed.get();
+                for (String error : chunk.tally().errors) {
+                    if (releasedErrors.size() < MAX_KEPT_ERRORS) {
+                        releasedErrors.add(error);
+                    }
+                }
+            }
+            if (last != null) {
+                listener.onCheckpoint(last, releasedProcessed, releasedFailed, List.copyOf(releasedErrors));
+            }
+        }
+    }
+
+    private static void acquire(Semaphore slots) {
+        try {
+            slots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a sync worker", e);
+        }
+    }
+
+    private ExecutorService newWorkerExecutor(String jobName) {
+        if (virtualThreads) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                log.warn("Virtual threads unavailable, falling back to platform threads", e);
+            }
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "sync-" + jobName + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(workers, threadFactory);
+    }
+
+    // Compiled for Java 17, so virtual threads are looked up reflectively
+    private static boolean supportsVirtualThreads() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+}
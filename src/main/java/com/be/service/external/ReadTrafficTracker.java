@@ -0,0 +1,100 @@
+package com.be.service.external;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory count of detail-page reads per movie and cast, used by {@link TMDBRefreshScheduler} to
+ * refresh what users actually look at first. Hits are collected lock-free and folded into
+ * exponentially decayed scores once per refresh cycle, so old traffic fades out.
+ * Counts are per node and start from zero after a restart.
+ */
+@Component
+public class ReadTrafficTracker {
+    // Scores below this are dropped to keep the maps bounded by recently read ids
+    private static final double MIN_SCORE = 0.05;
+
+    private final double halfLifeHours;
+    private final Map<Long, LongAdder> movieHits = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> castHits = new ConcurrentHashMap<>();
+    // Decayed scores, only touched by decay()
+    private final Map<Long, Double> movieScores = new HashMap<>();
+    private final Map<Long, Double> castScores = new HashMap<>();
+    private long lastDecayNanos = System.nanoTime();
+
+    public ReadTrafficTracker(@Value("${app.tmdb.refresh.traffic-half-life-hours:6}") double halfLifeHours) {
+        this.halfLifeHours = Math.max(0.1, halfLifeHours);
+    }
+
+    public void recordMovie(Long movieId) {
+        movieHits.computeIfAbsent(movieId, id -> new LongAdder()).increment();
+    }
+
+    public void recordCast(Long castId) {
+        castHits.computeIfAbsent(castId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Decays the stored scores by the time since the last call and adds the hits collected since.
+     */
+    public synchronized void decay() {
+        long now = System.nanoTime();
+        double elapsedHours = (now - lastDecayNanos) / 3_600_000_000_000.0;
+        lastDecayNanos = now;
+        double factor = Math.pow(0.5, elapsedHours / halfLifeHours);
+
+        fold(movieHits, movieScores, factor);
+        fold(castHits, castScores, factor);
+    }
+
+    private static void fold(Map<Long, LongAdder> hits, Map<Long, Double> scores, double factor) {
+        scores.replaceAll((id, score) -> score * factor);
+        hits.forEach((id, adder) -> {
+            long count = adder.sumThenReset();
+            if (count > 0) {
+                scores.merge(id, (double) count, Double::sum);
+            }
+        });
+        // A hit racing with this removal can be lost, which is fine for a ranking heuristic
+        hits.values().removeIf(adder -> adder.sum() == 0);
+        scores.values().removeIf(score -> score < MIN_SCORE);
+    }
+
+    public synchronized Map<Long, Double> topMovies(int limit) {
+        return top(movieScores, limit);
+    }
+
+    public synchronized Map<Long, Double> topCasts(int limit) {
+        return top(castScores, limit);
+    }
+
+    public synchronized double movieScore(Long movieId) {
+        return movieScores.getOrDefault(movieId, 0.0);
+    }
+
+    public synchronized double castScore(Long castId) {
+        return castScores.getOrDefault(castId, 0.0);
+    }
+
+    public synchronized int getTrackedMovies() {
+        return movieScores.size();
+    }
+
+    public synchronized int getTrackedCasts() {
+        return castScores.size();
+    }
+
+    private static Map<Long, Double> top(Map<Long, Double> scores, int limit) {
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+}
@@ -0,0 +1,137 @@
+package com.be.service.external;
+
+import com.be.model.dto.tmdb.TMDBReviewDTO;
+import com.be.model.entity.UserRole;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Maps TMDB review authors to the local system accounts their reviews are stored under.
+ * <p>
+ * Authors of a whole review page are resolved together: cached ids first, then one {@code email IN} query,
+ * then one batch insert for the authors seen for the first time. System accounts have role {@code system}
+ * and no password hash, so they cannot log in and creating one costs no hashing.
+ */
+@Component
+@Slf4j
+public class ReviewAuthorResolver {
+    // Mirrors the proper_email check on users; authors that would violate it are not created
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+
+    private static final String INSERT_SYSTEM_USER = """
+            INSERT INTO users (email, full_name, provider, provider_id, password_hash, role, is_active,
+                               created_at, updated_at)
+            VALUES (?, ?, 'TMDB', ?, NULL, ?, TRUE, ?, ?)
+            ON CONFLICT (email) DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TMDBMetrics metrics;
+    private final Cache<String, Long> userIds;
+
+    public ReviewAuthorResolver(JdbcTemplate jdbcTemplate,
+                                NamedParameterJdbcTemplate namedJdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                TMDBMetrics metrics,
+                                @Value("${app.tmdb.review-authors.cache-size:50000}") long cacheSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.metrics = metrics;
+        this.userIds = CacheBuilder.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+    }
+
+    static String systemEmail(String username) {
+        return "tmdb_" + username + "@system.local";
+    }
+
+    /**
+     * Returns the user id for every resolvable author username on the page, creating missing accounts.
+     */
+    public Map<String, Long> resolve(Collection<TMDBReviewDTO> reviews) {
+        Map<String, Long> resolved = new HashMap<>();
+        Map<String, String> missing = new LinkedHashMap<>();
+
+        for (TMDBReviewDTO review : reviews) {
+            String username = review.getAuthorDetails() != null ? review.getAuthorDetails().getUsername() : null;
+            if (username == null || username.isBlank() || resolved.containsKey(username)) {
+                continue;
+            }
+            Long userId = userIds.getIfPresent(username);
+            if (userId != null) {
+                resolved.put(username, userId);
+            } else {
+                missing.putIfAbsent(username, review.getAuthor());
+            }
+        }
+        if (missing.isEmpty()) {
+            return resolved;
+        }
+
+        Map<String, Long> found = metrics.timeWrite("review-authors", missing.size(), () -> transactionTemplate.execute(status -> {
+            Map<String, Long> ids = findUserIds(missing.keySet());
+
+            List<Object[]> newUsers = missing.entrySet().stream()
+                    .filter(author -> !ids.containsKey(author.getKey()))
+                    .filter(author -> EMAIL_PATTERN.matcher(systemEmail(author.getKey())).matches())
+                    .map(author -> newUserRow(author.getKey(), author.getValue()))
+                    .toList();
+            if (!newUsers.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SYSTEM_USER, newUsers);
+                ids.putAll(findUserIds(missing.keySet()));
+                log.debug("Created {} system users for review authors", newUsers.size());
+            }
+            return ids;
+        }));
+
+        if (found != null) {
+            userIds.putAll(found);
+            resolved.putAll(found);
+        }
+        return resolved;
+    }
+
+    private Map<String, Long> findUserIds(Collection<String> usernames) {
+        Map<String, String> usernamesByEmail = new HashMap<>();
+        for (String username : usernames) {
+            usernamesByEmail.put(systemEmail(username), username);
+        }
+
+        Map<String, Long> ids = new HashMap<>();
+        namedJdbcTemplate.query("SELECT id, email FROM users WHERE email IN (:emails)",
+                Map.of("emails", usernamesByEmail.keySet()),
+                rs -> {
+                    ids.put(usernamesByEmail.get(rs.getString("email")), rs.getLong("id"));
+                });
+        return ids;
+    }
+
+    private static Object[] newUserRow(String username, String authorName) {
+        Timestamp now = Timestamp.from(Instant.now());
+        String fullName = authorName == null || authorName.isBlank() ? username : authorName;
+        return new Object[]{systemEmail(username), fullName, username, UserRole.system.name(), now, now};
+    }
+
+    public long cachedAuthors() {
+        return userIds.size();
+    }
+}
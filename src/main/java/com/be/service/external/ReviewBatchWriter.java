@@ -0,0 +1,148 @@
+package com.be.service.external;
+
+import com.be.model.dto.tmdb.TMDBReviewDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a page of TMDB reviews in one transaction: stored content hashes are read with one {@code tmdb_id IN}
+ * query, unchanged reviews are skipped, and the rest go in one batched upsert on {@code tmdb_id}.
+ * <p>
+ * If the batch fails (a review can still hit the one-review-per-user-and-movie constraint), the page is
+ * replayed row by row behind savepoints in the same transaction, and only the offending rows are reported.
+ */
+@Component
+@Slf4j
+public class ReviewBatchWriter {
+    private static final String UPSERT_REVIEW = """
+            INSERT INTO reviews (tmdb_id, movie_id, user_id, content, rating, content_hash, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (tmdb_id) DO UPDATE SET
+                movie_id = EXCLUDED.movie_id,
+                user_id = EXCLUDED.user_id,
+                content = EXCLUDED.content,
+                rating = EXCLUDED.rating,
+                content_hash = EXCLUDED.content_hash,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReviewAuthorResolver authorResolver;
+    private final TMDBMetrics metrics;
+
+    public ReviewBatchWriter(JdbcTemplate jdbcTemplate,
+                             NamedParameterJdbcTemplate namedJdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             ReviewAuthorResolver authorResolver,
+                             TMDBMetrics metrics) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.authorResolver = authorResolver;
+        this.metrics = metrics;
+    }
+
+    public ReviewWriteResult writeReviews(Long movieId, List<TMDBReviewDTO> reviews) {
+        List<String> errors = new ArrayList<>();
+        if (reviews == null || reviews.isEmpty()) {
+            return ReviewWriteResult.builder().errors(errors).build();
+        }
+
+        Map<String, Long> authorIds = authorResolver.resolve(reviews);
+
+        Map<String, Object[]> rows = new LinkedHashMap<>();
+        Timestamp now = Timestamp.from(Instant.now());
+        for (TMDBReviewDTO review : reviews) {
+            String username = review.getAuthorDetails() != null ? review.getAuthorDetails().getUsername() : null;
+            Long userId = username != null ? authorIds.get(username) : null;
+            if (review.getId() == null || userId == null) {
+                errors.add(String.format("Review %s: no system user for author %s", review.getId(), username));
+                continue;
+            }
+            Float rating = review.getAuthorDetails().getRating();
+            String contentHash = ContentHash.of(movieId, userId, review.getContent(), rating);
+            rows.putIfAbsent(review.getId(), new Object[]{review.getId(), movieId, userId, review.getContent(),
+                    rating, contentHash, createdAt(review, now), now});
+        }
+        if (rows.isEmpty()) {
+            return ReviewWriteResult.builder().errors(errors).build();
+        }
+
+        int[] counts = metrics.timeWrite("reviews", rows.size(), () -> transactionTemplate.execute(status -> {
+            Map<String, String> storedHashes = findStoredHashes(rows.keySet());
+            List<Object[]> changed = rows.values().stream()
+                    .filter(row -> !row[5].equals(storedHashes.get((String) row[0])))
+                    .toList();
+            if (changed.isEmpty()) {
+                return new int[]{0, rows.size()};
+            }
+
+            Object savepoint = status.createSavepoint();
+            try {
+                jdbcTemplate.batchUpdate(UPSERT_REVIEW, changed);
+                status.releaseSavepoint(savepoint);
+                return new int[]{changed.size(), rows.size() - changed.size()};
+            } catch (DataAccessException e) {
+                status.rollbackToSavepoint(savepoint);
+                log.warn("Review batch for movie {} failed, retrying row by row: {}", movieId, e.getMessage());
+            }
+
+            int written = 0;
+            for (Object[] row : changed) {
+                Object rowSavepoint = status.createSavepoint();
+                try {
+                    jdbcTemplate.update(UPSERT_REVIEW, row);
+                    status.releaseSavepoint(rowSavepoint);
+                    written++;
+                } catch (DataAccessException e) {
+                    status.rollbackToSavepoint(rowSavepoint);
+                    errors.add(String.format("Review %s: %s", row[0], e.getMostSpecificCause().getMessage()));
+                }
+            }
+            return new int[]{written, rows.size() - changed.size()};
+        }));
+
+        return ReviewWriteResult.builder()
+                .written(counts[0])
+                .unchanged(counts[1])
+                .errors(errors)
+                .build();
+    }
+
+    private Map<String, String> findStoredHashes(Collection<String> tmdbIds) {
+        Map<String, String> hashes = new HashMap<>();
+        namedJdbcTemplate.query("SELECT tmdb_id, content_hash FROM reviews WHERE tmdb_id IN (:tmdbIds)",
+                Map.of("tmdbIds", tmdbIds),
+                rs -> {
+                    hashes.put(rs.getString("tmdb_id"), rs.getString("content_hash"));
+                });
+        return hashes;
+    }
+
+    private static Timestamp createdAt(TMDBReviewDTO review, Timestamp fallback) {
+        if (review.getCreatedAt() == null) {
+            return fallback;
+        }
+        try {
+            return Timestamp.from(ZonedDateTime.parse(review.getCreatedAt()).toInstant());
+        } catch (RuntimeException e) {
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.be.service.external;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Outcome of writing one page of TMDB reviews: rows written, rows already up to date, and one message
+ * per review that could not be written.
+ */
+@Getter
+@Builder
+public class ReviewWriteResult {
+    private final int written;
+    private final int unchanged;
+    private final List<String> errors;
+}
@@ -0,0 +1,274 @@
+package com.be.service.external;
+
+import com.be.model.dto.admin.SchedulerLeaseDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Makes scheduled sync tasks run on one node at a time when several replicas share the database.
+ * <p>
+ * A task runs only while this node holds its row in {@code scheduler_leases}. Leases are taken with a
+ * single conditional upsert that succeeds only when the current lease has expired, and all times come from
+ * the database clock. While a task runs, a heartbeat thread extends its lease every
+ * {@code heartbeat-interval}; the lease is released when the task ends, but stays taken until at least
+ * {@code min-hold} after it was acquired. Otherwise a replica whose trigger for the same schedule fires a little
+ * later (a busy scheduler pool, a GC pause, clock skew) would find it free and run the task a second time.
+ * Cron tasks, which run hours apart, pass the longer {@link #CRON_MIN_HOLD}.
+ * <p>
+ * If a holder dies mid-run, its heartbeats stop and the lease expires without having been released.
+ * Every node remembers the tasks it has offered until they finish, and its heartbeat picks up such an
+ * abandoned lease and runs the task again right away, on its own thread, instead of waiting for the next
+ * schedule.
+ * <p>
+ * A holder that was only paused (a long GC, a lost connection) may come back after its lease was taken over.
+ * Tasks that take a {@link BooleanSupplier} get told whether the lease is still held, and are expected to
+ * check it between chunks of work and stop writing once it returns false.
+ */
+@Service
+@Slf4j
+public class SchedulerLeaseService {
+    public static final Duration CRON_MIN_HOLD = Duration.ofMinutes(10);
+
+    private static final String ACQUIRE = """
+            INSERT INTO scheduler_leases (name, holder, acquired_at, heartbeat_at, expires_at, released_at)
+            VALUES (?, ?, now(), now(), now() + ? * INTERVAL '1 millisecond', NULL)
+            ON CONFLICT (name) DO UPDATE SET
+                holder = EXCLUDED.holder,
+                acquired_at = EXCLUDED.acquired_at,
+                heartbeat_at = EXCLUDED.heartbeat_at,
+                expires_at = EXCLUDED.expires_at,
+                released_at = NULL
+            WHERE scheduler_leases.expires_at < now()
+            """;
+
+    private static final String RENEW = """
+            UPDATE scheduler_leases
+            SET heartbeat_at = now(), expires_at = now() + ? * INTERVAL '1 millisecond'
+            WHERE name = ? AND holder = ?
+            """;
+
+    private static final String RELEASE = """
+            UPDATE scheduler_leases
+            SET released_at = now(),
+                expires_at = GREATEST(now(), acquired_at + ? * INTERVAL '1 millisecond')
+            WHERE name = ? AND holder = ?
+            """;
+
+    // A task this node has offered, with how long a run of it keeps the lease at least
+    private record OfferedTask(Duration minHold, Consumer<BooleanSupplier> task) {
+    }
+
+    // A lease this node holds; lost once a renewal finds another holder or no renewal got through for a ttl
+    private static class HeldLease {
+        private volatile long renewedNanos = System.nanoTime();
+        private volatile boolean lost;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId;
+    private final Duration ttl;
+    private final Duration minHold;
+    private final ScheduledExecutorService heartbeat;
+    private final ExecutorService takeovers;
+
+    // Leases this node holds, and the tasks it has been asked to run and not finished yet (for failover)
+    private final Map<String, HeldLease> held = new ConcurrentHashMap<>();
+    private final Map<String, OfferedTask> tasks = new ConcurrentHashMap<>();
+
+    public SchedulerLeaseService(JdbcTemplate jdbcTemplate,
+                                 @Value("${app.tmdb.leases.node-id:}") String nodeId,
+                                 @Value("${app.tmdb.leases.ttl:60s}") Duration ttl,
+                                 @Value("${app.tmdb.leases.heartbeat-interval:15s}") Duration heartbeatInterval,
+                                 @Value("${app.tmdb.leases.min-hold:30s}") Duration minHold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.ttl = ttl;
+        this.minHold = minHold;
+
+        // Own thread, so heartbeats keep going while the scheduler thread is busy running a task
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "scheduler-lease-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Not the shared taskExecutor, whose threads may all be busy with the very jobs being taken over
+        AtomicInteger takeoverCount = new AtomicInteger();
+        this.takeovers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "scheduler-lease-takeover-" + takeoverCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = heartbeatInterval.toMillis();
+        heartbeat.scheduleWithFixedDelay(this::heartbeat, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Scheduler leases for node {}: ttl {} s, heartbeat every {} s, held at least {} s",
+                this.nodeId, ttl.toSeconds(), heartbeatInterval.toSeconds(), minHold.toSeconds());
+    }
+
+    /**
+     * Runs {@code task} on the calling thread if this node gets the lease {@code name}, and returns whether it ran.
+     */
+    public boolean runExclusive(String name, Runnable task) {
+        return runExclusive(name, minHold, task);
+    }
+
+    /**
+     * Like {@link #runExclusive(String, Runnable)}, keeping the lease for at least {@code minHold} from acquisition.
+     */
+    public boolean runExclusive(String name, Duration minHold, Runnable task) {
+        return run(name, new OfferedTask(minHold, leaseHeld -> task.run()));
+    }
+
+    /**
+     * Like {@link #runExclusive(String, Runnable)}, passing the task a check that turns false once the lease is lost.
+     */
+    public boolean runExclusive(String name, Consumer<BooleanSupplier> task) {
+        return run(name, new OfferedTask(minHold, task));
+    }
+
+    private boolean run(String name, OfferedTask offered) {
+        tasks.put(name, offered);
+        HeldLease lease = new HeldLease();
+        if (held.putIfAbsent(name, lease) != null) {
+            log.info("Skipping {}: already running on this node", name);
+            return false;
+        }
+
+        try {
+            if (jdbcTemplate.update(ACQUIRE, name, nodeId, ttl.toMillis()) == 0) {
+                held.remove(name);
+                log.info("Skipping {}: lease held by {}", name, currentHolder(name));
+                return false;
+            }
+        } catch (RuntimeException e) {
+            held.remove(name);
+            throw e;
+        }
+
+        log.info("Acquired lease {} on node {}", name, nodeId);
+        lease.renewedNanos = System.nanoTime();
+        try {
+            offered.task().accept(() -> !lease.lost && System.nanoTime() - lease.renewedNanos < ttl.toNanos());
+            return true;
+        } finally {
+            held.remove(name);
+            tasks.remove(name, offered);
+            try {
+                jdbcTemplate.update(RELEASE, offered.minHold().toMillis(), name, nodeId);
+            } catch (RuntimeException e) {
+                // The lease simply expires after its ttl
+                log.warn("Failed to release lease {}: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    public List<SchedulerLeaseDTO> getLeases() {
+        return jdbcTemplate.query("SELECT *, expires_at > now() AND released_at IS NULL AS active FROM scheduler_leases ORDER BY name",
+                (rs, rowNum) -> SchedulerLeaseDTO.builder()
+                        .name(rs.getString("name"))
+                        .holder(rs.getString("holder"))
+                        .active(rs.getBoolean("active"))
+                        .heldByThisNode(nodeId.equals(rs.getString("holder")) && held.containsKey(rs.getString("name")))
+                        .acquiredAt(toZoned(rs, "acquired_at"))
+                        .heartbeatAt(toZoned(rs, "heartbeat_at"))
+                        .expiresAt(toZoned(rs, "expires_at"))
+                        .releasedAt(toZoned(rs, "released_at"))
+                        .build());
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    void heartbeat() {
+        try {
+            for (Map.Entry<String, HeldLease> entry : held.entrySet()) {
+                HeldLease lease = entry.getValue();
+                if (lease.lost) {
+                    continue;
+                }
+                if (jdbcTemplate.update(RENEW, ttl.toMillis(), entry.getKey(), nodeId) == 0) {
+                    lease.lost = true;
+                    log.warn("Lost lease {} - another node may have taken it over", entry.getKey());
+                } else {
+                    lease.renewedNanos = System.nanoTime();
+                }
+            }
+            takeOverAbandonedLeases();
+        } catch (Exception e) {
+            log.warn("Scheduler lease heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    private void takeOverAbandonedLeases() {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        List<Map<String, Object>> abandoned = jdbcTemplate.queryForList(
+                "SELECT name, holder FROM scheduler_leases WHERE released_at IS NULL AND expires_at < now()");
+        for (Map<String, Object> lease : abandoned) {
+            String name = (String) lease.get("name");
+            OfferedTask task = tasks.get(name);
+            if (task != null && !held.containsKey(name)) {
+                log.warn("Lease {} of node {} expired mid-run, taking over", name, lease.get("holder"));
+                takeovers.execute(() -> run(name, task));
+            }
+        }
+
+        // Tasks another node finished need no failover here; scheduled ones are offered again on their next run
+        List<String> released = jdbcTemplate.queryForList(
+                "SELECT name FROM scheduler_leases WHERE released_at IS NOT NULL", String.class);
+        for (String name : released) {
+            if (!held.containsKey(name)) {
+                tasks.remove(name);
+            }
+        }
+    }
+
+    private String currentHolder(String name) {
+        List<String> holders = jdbcTemplate.queryForList(
+                "SELECT holder FROM scheduler_leases WHERE name = ?", String.class, name);
+        return holders.isEmpty() ? "nobody" : holders.get(0);
+    }
+
+    private static ZonedDateTime toZoned(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp == null ? null : timestamp.toInstant().atZone(ZoneId.systemDefault());
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown-host";
+        }
+        return host + "-" + ProcessHandle.current().pid();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        takeovers.shutdownNow();
+    }
+}
@@ -0,0 +1,36 @@
+package com.be.service.external;
+
+import com.be.model.entity.SyncCheckpoint;
+import com.be.repository.SyncCheckpointRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+/**
+ * Named progress markers (watermarks, file offsets) that let sync jobs resume where they stopped.
+ */
+@Service
+public class SyncCheckpointService {
+    private final SyncCheckpointRepository checkpointRepository;
+
+    public SyncCheckpointService(SyncCheckpointRepository checkpointRepository) {
+        this.checkpointRepository = checkpointRepository;
+    }
+
+    public Optional<String> get(String name) {
+        return checkpointRepository.findById(name).map(SyncCheckpoint::getValue);
+    }
+
+    public void put(String name, String value) {
+        checkpointRepository.save(SyncCheckpoint.builder()
+                .name(name)
+                .value(value)
+                .updatedAt(ZonedDateTime.now())
+                .build());
+    }
+
+    public void clear(String name) {
+        checkpointRepository.deleteById(name);
+    }
+}
@@ -0,0 +1,209 @@
+package com.be.service.external;
+
+import com.be.appexception.ResourceNotFoundException;
+import com.be.model.dto.CatalogItemDTO;
+import com.be.model.dto.SyncDeadLetterDTO;
+import com.be.model.entity.SyncDeadLetter;
+import com.be.model.entity.SyncJobType;
+import com.be.repository.SyncDeadLetterRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Persists sync items that failed ({@code sync_dead_letters}) and retries them in the background.
+ * <p>
+ * Each failure bumps the attempt count and schedules the next try after {@code base-delay * 2^(attempts - 1)},
+ * capped at {@code max-delay}, so TMDB 5xx, 429s and timeouts heal without waiting for the next full sync.
+ * Client errors other than 429 (a title removed from TMDB, for instance) and items out of attempts are
+ * parked: they stay listed for an admin but are no longer retried. A successful retry deletes the row.
+ */
+@Service
+@Slf4j
+public class SyncDeadLetterService {
+    private static final String LEASE_NAME = "tmdb-dead-letter-retry";
+    private static final String RETRY_JOB = "dead-letter-retry";
+    private static final int MAX_MESSAGE_LENGTH = 2000;
+
+    private static final String RECORD_FAILURE = """
+            INSERT INTO sync_dead_letters (job_type, tmdb_id, entity_id, entity_name, source, error_class,
+                                           error_message, attempts, first_failed_at, last_failed_at, next_attempt_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, 1, now(), now(), now() + make_interval(secs => CAST(? AS double precision)))
+            ON CONFLICT (job_type, tmdb_id) DO UPDATE SET
+                entity_id = COALESCE(EXCLUDED.entity_id, sync_dead_letters.entity_id),
+                entity_name = COALESCE(EXCLUDED.entity_name, sync_dead_letters.entity_name),
+                source = EXCLUDED.source,
+                error_class = EXCLUDED.error_class,
+                error_message = EXCLUDED.error_message,
+                attempts = sync_dead_letters.attempts + 1,
+                last_failed_at = now(),
+                -- Same backoff as nextDelaySeconds(), from the stored attempt count
+                next_attempt_at = CASE
+                    WHEN ? AND sync_dead_letters.attempts + 1 < ?
+                        THEN now() + make_interval(secs => LEAST(? * power(2, sync_dead_letters.attempts), ?))
+                    END
+            """;
+
+    private final SyncDeadLetterRepository deadLetterRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SyncItemTasks syncItemTasks;
+    private final PartitionedSyncExecutor syncExecutor;
+    private final SchedulerLeaseService leaseService;
+    private final boolean retryEnabled;
+    private final int maxAttempts;
+    private final double baseDelaySeconds;
+    private final double maxDelaySeconds;
+    private final int retryBatchSize;
+
+    public SyncDeadLetterService(SyncDeadLetterRepository deadLetterRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 SyncItemTasks syncItemTasks,
+                                 PartitionedSyncExecutor syncExecutor,
+                                 SchedulerLeaseService leaseService,
+                                 @Value("${app.tmdb.dead-letters.retry-enabled:true}") boolean retryEnabled,
+                                 @Value("${app.tmdb.dead-letters.max-attempts:8}") int maxAttempts,
+                                 @Value("${app.tmdb.dead-letters.base-delay:1m}") Duration baseDelay,
+                                 @Value("${app.tmdb.dead-letters.max-delay:6h}") Duration maxDelay,
+                                 @Value("${app.tmdb.dead-letters.retry-batch-size:200}") int retryBatchSize) {
+        this.deadLetterRepository = deadLetterRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.syncItemTasks = syncItemTasks;
+        this.syncExecutor = syncExecutor;
+        this.leaseService = leaseService;
+        this.retryEnabled = retryEnabled;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelaySeconds = baseDelay.toMillis() / 1000.0;
+        this.maxDelaySeconds = Math.max(baseDelaySeconds, maxDelay.toMillis() / 1000.0);
+        this.retryBatchSize = Math.max(1, retryBatchSize);
+    }
+
+    /**
+     * Wraps {@code task} so that a failing item is recorded before the exception propagates to the caller.
+     */
+    public Consumer<CatalogItemDTO> recordingFailures(SyncJobType type, String source, Consumer<CatalogItemDTO> task) {
+        return item -> {
+            try {
+                task.accept(item);
+            } catch (RuntimeException e) {
+                record(type, item, source, e);
+                throw e;
+            }
+        };
+    }
+
+    public void record(SyncJobType type, CatalogItemDTO item, String source, Throwable error) {
+        if (item.getTmdbId() == null) {
+            return;
+        }
+        boolean retryable = isRetryable(error);
+        String message = error.getMessage();
+        if (message != null && message.length() > MAX_MESSAGE_LENGTH) {
+            message = message.substring(0, MAX_MESSAGE_LENGTH);
+        }
+        try {
+            jdbcTemplate.update(RECORD_FAILURE,
+                    type.name(), item.getTmdbId(), item.getId(), item.getName(), source,
+                    error.getClass().getName(), message,
+                    nextDelaySeconds(1, retryable),
+                    retryable, maxAttempts, baseDelaySeconds, maxDelaySeconds);
+        } catch (Exception e) {
+            // Never hide the original failure behind a bookkeeping one
+            log.error("Could not record dead letter for {} {}: {}", type, item.getTmdbId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Seconds until the next retry of an item that has failed {@code attempts} times, or null when it is parked.
+     */
+    Double nextDelaySeconds(int attempts, boolean retryable) {
+        if (!retryable || attempts >= maxAttempts) {
+            return null;
+        }
+        return Math.min(baseDelaySeconds * Math.pow(2, attempts - 1), maxDelaySeconds);
+    }
+
+    // TMDB client errors will not change on retry, except rate limiting
+    static boolean isRetryable(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            int status = 0;
+            if (cause instanceof RestClientResponseException responseException) {
+                status = responseException.getStatusCode().value();
+            } else if (cause instanceof WebClientResponseException responseException) {
+                status = responseException.getStatusCode().value();
+            } else if (cause instanceof ResourceNotFoundException || cause instanceof IllegalArgumentException) {
+                return false;
+            }
+            if (status > 0) {
+                return status == 429 || status >= 500;
+            }
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.tmdb.dead-letters.retry-interval:1m}",
+            initialDelayString = "${app.tmdb.dead-letters.retry-interval:1m}")
+    public void scheduledRetry() {
+        if (!retryEnabled) {
+            return;
+        }
+        leaseService.runExclusive(LEASE_NAME, this::retryDue);
+    }
+
+    /**
+     * Re-runs due items through the sync executor, at most {@code retry-batch-size} per call.
+     */
+    public SyncRunResult retryDue() {
+        List<SyncDeadLetter> due = deadLetterRepository.findDue(ZonedDateTime.now(), PageRequest.of(0, retryBatchSize));
+        if (due.isEmpty()) {
+            return null;
+        }
+
+        log.info("Retrying {} dead-lettered sync items", due.size());
+        return syncExecutor.run(RETRY_JOB, due.size(),
+                sink -> sink.accept(due),
+                this::retry,
+                letter -> String.format("%s %d (%s)", letter.getJobType(), letter.getTmdbId(), letter.getEntityName()));
+    }
+
+    private void retry(SyncDeadLetter letter) {
+        CatalogItemDTO item = new CatalogItemDTO(letter.getEntityId(), letter.getTmdbId(), letter.getEntityName());
+        try {
+            syncItemTasks.forType(letter.getJobType()).accept(item);
+        } catch (RuntimeException e) {
+            record(letter.getJobType(), item, letter.getSource(), e);
+            throw e;
+        }
+        deadLetterRepository.deleteById(letter.getId());
+        log.info("Dead-lettered {} {} synced after {} failed attempts",
+                letter.getJobType(), letter.getTmdbId(), letter.getAttempts());
+    }
+
+    public Page<SyncDeadLetterDTO> getDeadLetters(SyncJobType type, boolean parkedOnly, Pageable pageable) {
+        return deadLetterRepository.search(type, parkedOnly, pageable).map(SyncDeadLetterDTO::fromEntity);
+    }
+
+    public int purge(SyncJobType type, boolean parkedOnly) {
+        int purged = deadLetterRepository.purge(type, parkedOnly);
+        log.info("Purged {} dead letters (type {}, parked only {})", purged, type != null ? type : "any", parkedOnly);
+        return purged;
+    }
+
+    public void delete(Long id) {
+        if (!deadLetterRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Dead letter", "id", id);
+        }
+        deadLetterRepository.deleteById(id);
+    }
+}
@@ -0,0 +1,41 @@
+package com.be.service.external;
+
+import com.be.model.dto.CatalogItemDTO;
+import com.be.model.entity.Movie;
+import com.be.model.entity.SyncJobType;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * The per-item sync step behind each {@link SyncJobType}, shared by full-catalog jobs and dead-letter retries.
+ */
+@Component
+public class SyncItemTasks {
+    private final TMDBService tmdbService;
+
+    public SyncItemTasks(TMDBService tmdbService) {
+        this.tmdbService = tmdbService;
+    }
+
+    public Consumer<CatalogItemDTO> forType(SyncJobType type) {
+        return switch (type) {
+            case MOVIES_FULL -> item -> tmdbService.syncMovie(item.getTmdbId());
+            case MOVIE_CASTS -> item -> tmdbService.syncMovieCast(movieReference(item));
+            case MOVIE_REVIEWS -> item -> tmdbService.syncReviewsForMovie(movieReference(item));
+            case CAST_DETAILS -> item -> tmdbService.syncCastDetails(item.getTmdbId());
+        };
+    }
+
+    // Detached stand-in carrying just what the per-movie sync steps read; only its id ends up in foreign keys
+    private static Movie movieReference(CatalogItemDTO item) {
+        if (item.getId() == null) {
+            throw new IllegalArgumentException("Movie " + item.getTmdbId() + " has no local id");
+        }
+        return Movie.builder()
+                .id(item.getId())
+                .tmdbId(item.getTmdbId())
+                .title(item.getName())
+                .build();
+    }
+}
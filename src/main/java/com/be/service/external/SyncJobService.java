@@ -0,0 +1,253 @@
+package com.be.service.external;
+
+import com.be.appexception.ResourceNotFoundException;
+import com.be.model.dto.CatalogItemDTO;
+import com.be.model.dto.SyncJobDTO;
+import com.be.model.entity.SyncJob;
+import com.be.model.entity.SyncJobStatus;
+import com.be.model.entity.SyncJobType;
+import com.be.repository.SyncJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Full-catalog sync jobs with their state kept in {@code sync_jobs}.
+ * <p>
+ * Progress is checkpointed after every catalog chunk (see {@link PartitionedSyncExecutor.CheckpointListener}),
+ * and jobs still RUNNING at startup were cut off by a crash or deploy, so they continue from their cursor.
+ * Items after the cursor that had already finished are synced again, which every sync step tolerates,
+ * and the checkpointed counts only include items up to the cursor, so they are not counted twice.
+ * <p>
+ * A partial unique index keeps at most one RUNNING job per type, also when two replicas start one at once.
+ * <p>
+ * Each run holds the scheduler lease {@code sync-job-<id>}, so with several replicas only one of them resumes
+ * a job, and another one takes it over if that node dies (see {@link SchedulerLeaseService}). A run that loses
+ * its lease stops before the next chunk and writes no further checkpoints.
+ */
+@Service
+@Slf4j
+public class SyncJobService {
+    private static final int MAX_ERROR_SAMPLES = 20;
+
+    private final SyncJobRepository syncJobRepository;
+    private final CatalogIterator catalogIterator;
+    private final PartitionedSyncExecutor syncExecutor;
+    private final Executor taskExecutor;
+    private final SchedulerLeaseService leaseService;
+    private final SyncItemTasks syncItemTasks;
+    private final SyncDeadLetterService deadLetterService;
+
+    public SyncJobService(SyncJobRepository syncJobRepository,
+                          CatalogIterator catalogIterator,
+                          PartitionedSyncExecutor syncExecutor,
+                          @Qualifier("taskExecutor") Executor taskExecutor,
+                          SchedulerLeaseService leaseService,
+                          SyncItemTasks syncItemTasks,
+                          SyncDeadLetterService deadLetterService) {
+        this.syncJobRepository = syncJobRepository;
+        this.catalogIterator = catalogIterator;
+        this.syncExecutor = syncExecutor;
+        this.taskExecutor = taskExecutor;
+        this.leaseService = leaseService;
+        this.syncItemTasks = syncItemTasks;
+        this.deadLetterService = deadLetterService;
+    }
+
+    /**
+     * Starts a job of the given type in the background, or returns the one of that type already running.
+     */
+    public synchronized SyncJobDTO start(SyncJobType type) {
+        SyncJob running = syncJobRepository.findFirstByJobTypeAndStatus(type, SyncJobStatus.RUNNING).orElse(null);
+        if (running != null) {
+            log.info("Sync job {} ({}) is already running", running.getId(), type);
+            return SyncJobDTO.fromEntity(running);
+        }
+
+        ZonedDateTime now = ZonedDateTime.now();
+        SyncJob job;
+        try {
+            job = syncJobRepository.save(SyncJob.builder()
+                    .jobType(type)
+                    .status(SyncJobStatus.RUNNING)
+                    .cursorId(0L)
+                    .totalItems(countItems(type))
+                    .startedAt(now)
+                    .runStartedAt(now)
+                    .updatedAt(now)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // Another replica started one between the check and the insert (uq_sync_jobs_running_type)
+            return syncJobRepository.findFirstByJobTypeAndStatus(type, SyncJobStatus.RUNNING)
+                    .map(other -> {
+                        log.info("Sync job {} ({}) was started by another node", other.getId(), type);
+                        return SyncJobDTO.fromEntity(other);
+                    })
+                    .orElseThrow(() -> e);
+        }
+
+        log.info("Started sync job {} ({})", job.getId(), type);
+        launch(job.getId());
+        return SyncJobDTO.fromEntity(job);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        for (SyncJob job : syncJobRepository.findByStatus(SyncJobStatus.RUNNING)) {
+            log.info("Resuming sync job {} ({}) after catalog id {}", job.getId(), job.getJobType(), job.getCursorId());
+            launch(job.getId());
+        }
+    }
+
+    public SyncJobDTO getJob(Long id) {
+        return syncJobRepository.findById(id)
+                .map(SyncJobDTO::fromEntity)
+                .orElseThrow(() -> new ResourceNotFoundException("Sync job", "id", id));
+    }
+
+    public Page<SyncJobDTO> getJobs(SyncJobStatus status, Pageable pageable) {
+        Page<SyncJob> jobs = status == null
+                ? syncJobRepository.findAllByOrderByIdDesc(pageable)
+                : syncJobRepository.findByStatusOrderByIdDesc(status, pageable);
+        return jobs.map(SyncJobDTO::fromEntity);
+    }
+
+    private void launch(Long jobId) {
+        taskExecutor.execute(() -> leaseService.runExclusive("sync-job-" + jobId,
+                leaseHeld -> runJob(jobId, leaseHeld)));
+    }
+
+    private void runJob(Long jobId, BooleanSupplier leaseHeld) {
+        SyncJob job = syncJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() != SyncJobStatus.RUNNING) {
+            return;
+        }
+
+        long baseProcessed = job.getProcessedItems();
+        long baseFailed = job.getFailedItems();
+        long afterId = job.getCursorId() != null ? job.getCursorId() : 0;
+        ZonedDateTime now = ZonedDateTime.now();
+        job.setRunStartedAt(now);
+        job.setRunBaseItems(baseProcessed + baseFailed);
+        job.setUpdatedAt(now);
+        syncJobRepository.save(job);
+
+        String name = job.getJobType().name().toLowerCase().replace('_', '-');
+        try {
+            SyncRunResult run = syncExecutor.run(name, job.getTotalItems(),
+                    fenced(jobId, leaseHeld, source(job.getJobType(), afterId)),
+                    deadLetterService.recordingFailures(job.getJobType(), name,
+                            syncItemTasks.forType(job.getJobType())),
+                    item -> String.format("%s (ID: %d, TMDB ID: %d)", item.getName(), item.getId(), item.getTmdbId()),
+                    (last, processed, failed, errors) -> {
+                        if (leaseHeld.getAsBoolean()) {
+                            checkpoint(jobId, last.getId(), baseProcessed + processed, baseFailed + failed, errors);
+                        }
+                    });
+            if (!leaseHeld.getAsBoolean()) {
+                throw new LeaseLostException(jobId);
+            }
+
+            long processed = baseProcessed + run.getProcessed();
+            long failed = baseFailed + run.getFailed();
+            String result = String.format("Completed %s sync for %d items. ", name, processed);
+            if (failed > 0) {
+                result += String.format("Errors occurred for %d items.", failed);
+            }
+            finish(jobId, SyncJobStatus.COMPLETED, processed, failed, run.getErrors(), result);
+            log.info("Sync job {}: {}", jobId, result);
+        } catch (LeaseLostException e) {
+            // Whoever took the lease over owns the row now and resumes from the last checkpoint written here
+            log.warn("Sync job {} stopped: its lease was lost", jobId);
+        } catch (Exception e) {
+            log.error("Sync job {} failed: ", jobId, e);
+            finish(jobId, SyncJobStatus.FAILED, null, null, List.of(), "Error in " + name + " sync: " + e.getMessage());
+        }
+    }
+
+    private long countItems(SyncJobType type) {
+        return type == SyncJobType.CAST_DETAILS ? catalogIterator.countCasts() : catalogIterator.countMovies();
+    }
+
+    private Consumer<Consumer<List<CatalogItemDTO>>> source(SyncJobType type, long afterId) {
+        if (type == SyncJobType.CAST_DETAILS) {
+            return chunkConsumer -> catalogIterator.forEachCastChunk(afterId, chunkConsumer);
+        }
+        return chunkConsumer -> catalogIterator.forEachMovieChunk(afterId, chunkConsumer);
+    }
+
+    // Stops feeding chunks once the lease is gone, so at most the chunks in flight run twice
+    private static Consumer<Consumer<List<CatalogItemDTO>>> fenced(Long jobId, BooleanSupplier leaseHeld,
+                                                                   Consumer<Consumer<List<CatalogItemDTO>>> source) {
+        return chunkConsumer -> source.accept(chunk -> {
+            if (!leaseHeld.getAsBoolean()) {
+                throw new LeaseLostException(jobId);
+            }
+            chunkConsumer.accept(chunk);
+        });
+    }
+
+    private static class LeaseLostException extends RuntimeException {
+        LeaseLostException(Long jobId) {
+            super("Lost the lease of sync job " + jobId);
+        }
+    }
+
+    private void checkpoint(Long jobId, Long cursorId, long processed, long failed, List<String> errors) {
+        syncJobRepository.findById(jobId).ifPresent(job -> {
+            job.setCursorId(cursorId);
+            job.setProcessedItems(processed);
+            job.setFailedItems(failed);
+            job.setErrorSamples(mergeErrorSamples(job.getErrorSamples(), errors));
+            job.setUpdatedAt(ZonedDateTime.now());
+            syncJobRepository.save(job);
+        });
+    }
+
+    private void finish(Long jobId, SyncJobStatus status, Long processed, Long failed,
+                        List<String> errors, String resultMessage) {
+        syncJobRepository.findById(jobId).ifPresent(job -> {
+            ZonedDateTime now = ZonedDateTime.now();
+            job.setStatus(status);
+            if (processed != null) {
+                job.setProcessedItems(processed);
+                job.setFailedItems(failed);
+            }
+            job.setErrorSamples(mergeErrorSamples(job.getErrorSamples(), errors));
+            job.setResultMessage(resultMessage);
+            job.setUpdatedAt(now);
+            job.setFinishedAt(now);
+            syncJobRepository.save(job);
+        });
+    }
+
+    // Keeps the samples of earlier runs and adds new ones until the cap is reached
+    private static String mergeErrorSamples(String existing, List<String> errors) {
+        List<String> samples = new ArrayList<>();
+        if (existing != null && !existing.isEmpty()) {
+            samples.addAll(List.of(existing.split("\n")));
+        }
+        for (String error : errors) {
+            if (samples.size() >= MAX_ERROR_SAMPLES) {
+                break;
+            }
+            String line = error.replace('\n', ' ');
+            if (!samples.contains(line)) {
+                samples.add(line);
+            }
+        }
+        return samples.isEmpty() ? null : String.join("\n", samples);
+    }
+}
@@ -0,0 +1,26 @@
+package com.be.service.external;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of one {@link PartitionedSyncExecutor} run. Only the first error messages are kept;
+ * {@code failed} has the full count.
+ */
+@Getter
+@Builder
+public class SyncRunResult {
+    private final String jobName;
+    private final long processed;
+    private final long failed;
+    private final List<String> errors;
+    private final Duration elapsed;
+
+    public double getItemsPerSecond() {
+        long millis = elapsed.toMillis();
+        return millis == 0 ? 0 : (processed + failed) * 1000.0 / millis;
+    }
+}
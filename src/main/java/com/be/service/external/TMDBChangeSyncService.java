@@ -0,0 +1,188 @@
+package com.be.service.external;
+
+import com.be.model.dto.CatalogItemDTO;
+import com.be.model.dto.tmdb.TMDBChangeDTO;
+import com.be.model.dto.tmdb.TMDBChangesResponse;
+import com.be.model.entity.SyncJobType;
+import com.be.repository.CastRepository;
+import com.be.repository.MovieRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Incremental sync from TMDB's change feeds. Only movies and people that changed since the stored
+ * watermark and already exist locally are re-fetched, so the cost follows the rate of change
+ * instead of the catalog size.
+ */
+@Service
+@Slf4j
+public class TMDBChangeSyncService {
+    static final String MOVIE_WATERMARK = "tmdb.changes.movie";
+    static final String PERSON_WATERMARK = "tmdb.changes.person";
+    // TMDB rejects change queries spanning more than 14 days
+    private static final int MAX_WINDOW_DAYS = 14;
+    private static final int ID_BATCH_SIZE = 500;
+
+    private final TMDBService tmdbService;
+    private final MovieRepository movieRepository;
+    private final CastRepository castRepository;
+    private final SyncCheckpointService checkpointService;
+    private final SchedulerLeaseService leaseService;
+    private final SyncDeadLetterService deadLetterService;
+    private final int initialLookbackDays;
+
+    public TMDBChangeSyncService(TMDBService tmdbService,
+                                 MovieRepository movieRepository,
+                                 CastRepository castRepository,
+                                 SyncCheckpointService checkpointService,
+                                 SchedulerLeaseService leaseService,
+                                 SyncDeadLetterService deadLetterService,
+                                 @Value("${app.tmdb.changes.initial-lookback-days:1}") int initialLookbackDays) {
+        this.tmdbService = tmdbService;
+        this.movieRepository = movieRepository;
+        this.castRepository = castRepository;
+        this.checkpointService = checkpointService;
+        this.leaseService = leaseService;
+        this.deadLetterService = deadLetterService;
+        this.initialLookbackDays = initialLookbackDays;
+    }
+
+    @Scheduled(cron = "${app.tmdb.changes.cron:0 30 2 * * *}") // Nightly
+    public void scheduledChangeSync() {
+        leaseService.runExclusive("tmdb-change-sync", SchedulerLeaseService.CRON_MIN_HOLD, this::syncChanges);
+    }
+
+    @Async
+    public CompletableFuture<String> syncChanges() {
+        try {
+            String movies = syncFeed("movie", MOVIE_WATERMARK, this::filterExistingMovies,
+                    recordingFailures(SyncJobType.MOVIES_FULL, tmdbService::syncMovie));
+            String people = syncFeed("person", PERSON_WATERMARK, this::filterExistingCasts,
+                    recordingFailures(SyncJobType.CAST_DETAILS, tmdbService::syncCastDetails));
+
+            String result = movies + " " + people;
+            log.info(result);
+            return CompletableFuture.completedFuture(result);
+        } catch (Exception e) {
+            log.error("Error in change sync: ", e);
+            return CompletableFuture.completedFuture("Error in change sync: " + e.getMessage());
+        }
+    }
+
+    // Failed IDs are also dead-lettered, so they can heal before the next nightly run
+    private Consumer<Long> recordingFailures(SyncJobType type, Consumer<Long> sync) {
+        Consumer<CatalogItemDTO> task = deadLetterService.recordingFailures(type, "tmdb-change-sync",
+                item -> sync.accept(item.getTmdbId()));
+        return tmdbId -> task.accept(CatalogItemDTO.builder().tmdbId(tmdbId).build());
+    }
+
+    /**
+     * Walks the feed from the watermark to today in windows of at most 14 days. The watermark moves
+     * to the end of a window only when every changed ID in it was synced, so failures are retried
+     * on the next run.
+     */
+    private String syncFeed(String resource, String watermarkName,
+                            Function<Set<Long>, List<Long>> existingFilter,
+                            Consumer<Long> sync) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        LocalDate from = checkpointService.get(watermarkName)
+                .map(LocalDate::parse)
+                .orElse(today.minusDays(initialLookbackDays));
+
+        int changed = 0;
+        int synced = 0;
+        List<Long> failed = new ArrayList<>();
+
+        while (from.isBefore(today) || from.isEqual(today)) {
+            LocalDate to = from.plusDays(MAX_WINDOW_DAYS - 1);
+            if (to.isAfter(today)) {
+                to = today;
+            }
+
+            Set<Long> changedIds = fetchChangedIds(resource, from, to);
+            changed += changedIds.size();
+            List<Long> existingIds = existingFilter.apply(changedIds);
+            log.info("TMDB {} changes {}..{}: {} changed, {} in catalog",
+                    resource, from, to, changedIds.size(), existingIds.size());
+
+            int windowFailures = 0;
+            for (Long tmdbId : existingIds) {
+                try {
+                    sync.accept(tmdbId);
+                    synced++;
+                } catch (Exception e) {
+                    windowFailures++;
+                    failed.add(tmdbId);
+                    log.error("Error syncing changed {} {}: {}", resource, tmdbId, e.getMessage());
+                }
+            }
+
+            if (windowFailures > 0) {
+                break;
+            }
+            // The end date is inclusive; the next run starts on it again, which is harmless
+            checkpointService.put(watermarkName, to.toString());
+            if (to.isEqual(today)) {
+                break;
+            }
+            from = to;
+        }
+
+        String result = String.format("Synced %d/%d changed %s records (%d in feed).",
+                synced, synced + failed.size(), resource, changed);
+        if (!failed.isEmpty()) {
+            result += String.format(" Errors occurred for %d records; watermark kept for retry.", failed.size());
+        }
+        return result;
+    }
+
+    private Set<Long> fetchChangedIds(String resource, LocalDate from, LocalDate to) {
+        Set<Long> ids = new LinkedHashSet<>();
+        int page = 1;
+        int totalPages;
+        do {
+            TMDBChangesResponse response = tmdbService.getChanges(resource, from, to, page);
+            if (response == null || response.getResults() == null) {
+                break;
+            }
+            response.getResults().stream()
+                    .map(TMDBChangeDTO::getId)
+                    .forEach(ids::add);
+            totalPages = response.getTotalPages() != null ? response.getTotalPages() : 1;
+            page++;
+        } while (page <= totalPages);
+        return ids;
+    }
+
+    private List<Long> filterExistingMovies(Set<Long> tmdbIds) {
+        return filterInBatches(tmdbIds, movieRepository::findExistingTmdbIds);
+    }
+
+    private List<Long> filterExistingCasts(Set<Long> tmdbIds) {
+        return filterInBatches(tmdbIds, castRepository::findExistingTmdbIds);
+    }
+
+    // Keeps IN lists bounded; a feed window can contain tens of thousands of IDs
+    private List<Long> filterInBatches(Set<Long> tmdbIds,
+                                       Function<List<Long>, List<Long>> lookup) {
+        List<Long> ids = new ArrayList<>(tmdbIds);
+        List<Long> existing = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += ID_BATCH_SIZE) {
+            existing.addAll(lookup.apply(ids.subList(i, Math.min(i + ID_BATCH_SIZE, ids.size()))));
+        }
+        return existing;
+    }
+}
@@ -0,0 +1,108 @@
+package com.be.service.external;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+
+/**
+ * Transport for TMDB read calls. Each request is issued once; the body is read as bytes,
+ * optionally sampled by {@link TMDBPayloadSampler}, and decoded into the target DTO.
+ * Concurrent identical requests share one fetch through {@link TMDBRequestCoalescer}, which hands
+ * out the body bytes, so every caller decodes a DTO of its own.
+ */
+@Component
+@Slf4j
+public class TMDBClient {
+    private final RestTemplate restTemplate;
+    private final TMDBPayloadSampler payloadSampler;
+    private final TMDBRequestCoalescer coalescer;
+    private final TMDBMetrics metrics;
+    private final int streamChunkSize;
+    // Same mapper configuration RestTemplate uses for its JSON converter, so the DTOs decode as before
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    public TMDBClient(@Qualifier("tmdbRestTemplate") RestTemplate restTemplate,
+                      TMDBPayloadSampler payloadSampler,
+                      TMDBRequestCoalescer coalescer,
+                      TMDBMetrics metrics,
+                      @Value("${app.tmdb.streaming.chunk-size:200}") int streamChunkSize) {
+        this.restTemplate = restTemplate;
+        this.payloadSampler = payloadSampler;
+        this.coalescer = coalescer;
+        this.metrics = metrics;
+        this.streamChunkSize = streamChunkSize;
+    }
+
+    public <T> T get(String url, Class<T> responseType, String operation) {
+        byte[] body = coalescer.execute(url, () -> fetch(url, operation));
+        try {
+            if (body == null || body.length == 0) {
+                return null;
+            }
+            return objectMapper.readValue(body, responseType);
+        } catch (IOException e) {
+            throw new RestClientException("Failed to decode TMDB response for " + operation, e);
+        }
+    }
+
+    private byte[] fetch(String url, String operation) {
+        log.info("TMDB API Request - {}: {}", operation, url);
+        Timer.Sample sample = metrics.startRequest();
+        ResponseEntity<byte[]> response;
+        try {
+            response = restTemplate.exchange(url, HttpMethod.GET, null, byte[].class);
+        } catch (RuntimeException e) {
+            metrics.recordRequest(sample, operation, e);
+            throw e;
+        }
+        byte[] body = response.getBody();
+        log.debug("TMDB API Response - {}: {} bytes", operation, body != null ? body.length : 0);
+
+        payloadSampler.maybeCapture(operation, url, response.getStatusCode().value(), body);
+        metrics.recordRequest(sample, operation, response.getStatusCode().value());
+        return body;
+    }
+
+    /**
+     * Decodes the response while it is being read, for payloads with very long lists (see {@link TMDBJsonStream}).
+     * Streamed responses are neither sampled nor coalesced, and the sinks run on the calling thread.
+     */
+    public <H> H stream(String url, String operation, TMDBJsonStream<H> spec) {
+        log.info("TMDB API Request (streamed) - {}: {}", operation, url);
+        // Includes the sinks, which write to the database while the body is read
+        Timer.Sample sample = metrics.startRequest();
+        int[] status = new int[1];
+        try {
+            H result = restTemplate.execute(url, HttpMethod.GET, null, response -> {
+                status[0] = response.getStatusCode().value();
+                try (JsonParser parser = objectMapper.getFactory().createParser(response.getBody())) {
+                    return spec.decode(parser, objectMapper, streamChunkSize);
+                }
+            });
+            metrics.recordRequest(sample, operation, status[0]);
+            return result;
+        } catch (RuntimeException e) {
+            if (status[0] > 0) {
+                metrics.recordRequest(sample, operation, status[0]);
+            } else {
+                metrics.recordRequest(sample, operation, e);
+            }
+            throw e;
+        }
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+}
@@ -0,0 +1,207 @@
+package com.be.service.external;
+
+import com.be.appexception.BadRequestException;
+import com.be.appexception.ResourceNotFoundException;
+import com.be.model.dto.CatalogItemDTO;
+import com.be.model.dto.tmdb.TMDBExportEntryDTO;
+import com.be.model.dto.tmdb.TMDBMovieDTO;
+import com.be.model.entity.SyncJobType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Seeds the catalog from a TMDB daily ID export (gzip-compressed JSON lines) in
+ * {@code app.tmdb.export.dir}. Matching IDs are fetched in parallel through the rate-limited
+ * reactive client while the previous batch is written in a single transaction. The last written
+ * line is checkpointed, so a restarted import continues after it.
+ * <p>
+ * Movies that cannot be fetched or written are recorded in the dead-letter store as {@code MOVIES_FULL}
+ * items, which retries them with backoff, so the checkpoint can move past them without losing them.
+ */
+@Service
+@Slf4j
+public class TMDBExportImportService {
+    private static final String CHECKPOINT_PREFIX = "tmdb.export.";
+    private static final String DEAD_LETTER_SOURCE = "export-import";
+
+    private final TMDBService tmdbService;
+    private final SyncCheckpointService checkpointService;
+    private final SyncDeadLetterService deadLetterService;
+    private final ObjectMapper objectMapper;
+    private final Path exportDir;
+    private final int batchSize;
+
+    public TMDBExportImportService(TMDBService tmdbService,
+                                   SyncCheckpointService checkpointService,
+                                   SyncDeadLetterService deadLetterService,
+                                   TMDBClient tmdbClient,
+                                   @Value("${app.tmdb.export.dir:./data/tmdb-exports}") String exportDir,
+                                   @Value("${app.tmdb.export.batch-size:100}") int batchSize) {
+        this.tmdbService = tmdbService;
+        this.checkpointService = checkpointService;
+        this.deadLetterService = deadLetterService;
+        this.objectMapper = tmdbClient.getObjectMapper();
+        this.exportDir = Path.of(exportDir).toAbsolutePath().normalize();
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    // Only files inside the export directory can be imported
+    public Path resolveExportFile(String fileName) {
+        Path file = exportDir.resolve(fileName).normalize();
+        if (!file.startsWith(exportDir)) {
+            throw new BadRequestException("Invalid export file name");
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("Export file not found", "", "", "");
+        }
+        return file;
+    }
+
+    @Async
+    public CompletableFuture<String> importMovies(Path file, double minPopularity, boolean includeAdult,
+                                                  boolean restart) {
+        String checkpoint = CHECKPOINT_PREFIX + file.getFileName();
+        if (restart) {
+            checkpointService.clear(checkpoint);
+        }
+        long resumeAfter = checkpointService.get(checkpoint).map(Long::parseLong).orElse(0L);
+        log.info("Started export import from {} (min popularity {}, adult {}), resuming after line {}",
+                file, minPopularity, includeAdult, resumeAfter);
+
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        CompletableFuture<Void> pendingWrite = CompletableFuture.completedFuture(null);
+        AtomicLong written = new AtomicLong();
+        AtomicLong unchanged = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        long lineNumber = 0;
+        long matched = 0;
+        long fetched = 0;
+
+        try (BufferedReader reader = open(file)) {
+            List<Long> batch = new ArrayList<>(batchSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber <= resumeAfter || line.isBlank()) {
+                    continue;
+                }
+
+                TMDBExportEntryDTO entry = parse(line, lineNumber);
+                if (entry == null || !accept(entry, minPopularity, includeAdult)) {
+                    continue;
+                }
+                matched++;
+                batch.add(entry.getId());
+
+                if (batch.size() >= batchSize) {
+                    Map<Long, TMDBMovieDTO> details = fetch(batch, failed);
+                    fetched += details.size();
+                    // Keep at most one batch waiting to be written while the next one is fetched
+                    pendingWrite.join();
+                    pendingWrite = write(writer, details.values(), checkpoint, lineNumber, written, unchanged, failed);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                Map<Long, TMDBMovieDTO> details = fetch(batch, failed);
+                fetched += details.size();
+                pendingWrite.join();
+                pendingWrite = write(writer, details.values(), checkpoint, lineNumber, written, unchanged, failed);
+            }
+            pendingWrite.join();
+            checkpointService.put(checkpoint, String.valueOf(lineNumber));
+
+            String result = String.format(
+                    "Completed export import: %d lines, %d matched, %d fetched, %d written, %d unchanged, "
+                            + "%d failed and queued for retry.",
+                    lineNumber, matched, fetched, written.get(), unchanged.get(), failed.get());
+            log.info(result);
+            return CompletableFuture.completedFuture(result);
+        } catch (Exception e) {
+            log.error("Error importing export {} at line {}: ", file, lineNumber, e);
+            return CompletableFuture.completedFuture("Error in export import: " + e.getMessage());
+        } finally {
+            writer.shutdown();
+        }
+    }
+
+    private Map<Long, TMDBMovieDTO> fetch(List<Long> batch, AtomicLong failed) {
+        Map<Long, Throwable> failures = new ConcurrentHashMap<>();
+        Map<Long, TMDBMovieDTO> details = tmdbService.getMovieDetailsByIds(batch, failures::put);
+        // Recorded once the fan-out is done, not from the callback, which runs on a Netty event loop
+        failures.forEach(this::recordFailure);
+        failed.addAndGet(failures.size());
+        return details;
+    }
+
+    private void recordFailure(Long tmdbId, Throwable error) {
+        deadLetterService.record(SyncJobType.MOVIES_FULL, new CatalogItemDTO(null, tmdbId, null),
+                DEAD_LETTER_SOURCE, error);
+    }
+
+    private CompletableFuture<Void> write(ExecutorService writer, Collection<TMDBMovieDTO> details,
+                                          String checkpoint, long lastLine,
+                                          AtomicLong written, AtomicLong unchanged, AtomicLong failed) {
+        List<TMDBMovieDTO> movies = List.copyOf(details);
+        return CompletableFuture.runAsync(() -> {
+            MovieWriteResult result = tmdbService.saveMovies(movies, (tmdbId, error) -> {
+                recordFailure(tmdbId, error);
+                failed.incrementAndGet();
+            });
+            written.addAndGet(result.getWritten());
+            unchanged.addAndGet(result.getUnchanged());
+            checkpointService.put(checkpoint, String.valueOf(lastLine));
+            log.info("Export import progress: line {}, {} movies written, {} unchanged, {} failed",
+                    lastLine, written.get(), unchanged.get(), failed.get());
+        }, writer);
+    }
+
+    private BufferedReader open(Path file) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        if (file.getFileName().toString().endsWith(".gz")) {
+            in = new GZIPInputStream(in, 64 * 1024);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    private TMDBExportEntryDTO parse(String line, long lineNumber) {
+        try {
+            return objectMapper.readValue(line, TMDBExportEntryDTO.class);
+        } catch (IOException e) {
+            log.warn("Skipping malformed export line {}: {}", lineNumber, e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean accept(TMDBExportEntryDTO entry, double minPopularity, boolean includeAdult) {
+        if (entry.getId() == null) {
+            return false;
+        }
+        if (!includeAdult && Boolean.TRUE.equals(entry.getAdult())) {
+            return false;
+        }
+        return (entry.getPopularity() != null ? entry.getPopularity() : 0) >= minPopularity;
+    }
+}
@@ -0,0 +1,35 @@
+package com.be.service.external;
+
+import com.be.config.TMDBHttpClientConfig;
+import com.be.model.dto.admin.HttpPoolStatsDTO;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TMDBHttpPoolMonitor {
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final TMDBHttpClientConfig httpClientConfig;
+
+    public TMDBHttpPoolMonitor(PoolingHttpClientConnectionManager connectionManager,
+                               TMDBHttpClientConfig httpClientConfig) {
+        this.connectionManager = connectionManager;
+        this.httpClientConfig = httpClientConfig;
+    }
+
+    public HttpPoolStatsDTO getStats() {
+        if (httpClientConfig.isHttp2Enabled()) {
+            return HttpPoolStatsDTO.builder().mode("http2").build();
+        }
+
+        PoolStats stats = connectionManager.getTotalStats();
+        return HttpPoolStatsDTO.builder()
+                .mode("pooled")
+                .leased(stats.getLeased())
+                .pending(stats.getPending())
+                .idle(stats.getAvailable())
+                .max(stats.getMax())
+                .maxPerRoute(connectionManager.getDefaultMaxPerRoute())
+                .build();
+    }
+}
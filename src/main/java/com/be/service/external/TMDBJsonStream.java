@@ -0,0 +1,129 @@
+package com.be.service.external;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Describes how {@link TMDBClient#stream} decodes a response token by token.
+ * <p>
+ * Elements of the registered arrays (dotted paths such as {@code movie_credits.cast}) are decoded one
+ * at a time and handed to their sink in chunks, so a response with thousands of credits never exists
+ * as a full object graph. All other top-level fields form the header, which is delivered before the
+ * first array element. TMDB writes appended objects after the base fields, so the header is complete
+ * by then.
+ */
+public class TMDBJsonStream<H> {
+    private final Class<H> headerType;
+    private Consumer<H> headerSink = header -> { };
+    private final Map<String, ArraySink<?>> arrays = new LinkedHashMap<>();
+
+    private TMDBJsonStream(Class<H> headerType) {
+        this.headerType = headerType;
+    }
+
+    public static <H> TMDBJsonStream<H> of(Class<H> headerType) {
+        return new TMDBJsonStream<>(headerType);
+    }
+
+    public TMDBJsonStream<H> onHeader(Consumer<H> sink) {
+        this.headerSink = sink;
+        return this;
+    }
+
+    public <T> TMDBJsonStream<H> array(String path, Class<T> elementType, Consumer<List<T>> sink) {
+        arrays.put(path, new ArraySink<>(elementType, sink));
+        return this;
+    }
+
+    H decode(JsonParser parser, ObjectMapper objectMapper, int chunkSize) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON object");
+        }
+        Decoding decoding = new Decoding(parser, objectMapper, Math.max(1, chunkSize));
+        decoding.readObject("", decoding.header);
+        return decoding.deliverHeader();
+    }
+
+    private class Decoding {
+        private final JsonParser parser;
+        private final ObjectMapper objectMapper;
+        private final int chunkSize;
+        private final ObjectNode header;
+        private H decodedHeader;
+
+        Decoding(JsonParser parser, ObjectMapper objectMapper, int chunkSize) {
+            this.parser = parser;
+            this.objectMapper = objectMapper;
+            this.chunkSize = chunkSize;
+            // Without a header type nothing outside the streamed arrays is kept, not even as a tree
+            this.header = headerType != null ? objectMapper.createObjectNode() : null;
+        }
+
+        // Parser is on START_OBJECT; fields are kept in target (if any) unless they lead to a streamed array
+        void readObject(String prefix, ObjectNode target) throws IOException {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                String path = prefix.isEmpty() ? name : prefix + "." + name;
+                JsonToken token = parser.nextToken();
+
+                ArraySink<?> sink = arrays.get(path);
+                if (sink != null && token == JsonToken.START_ARRAY) {
+                    deliverHeader();
+                    sink.drain(parser, objectMapper, chunkSize);
+                } else if (token == JsonToken.START_OBJECT && leadsToArray(path)) {
+                    readObject(path, null);
+                } else if (target != null) {
+                    target.set(name, objectMapper.readTree(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        private boolean leadsToArray(String path) {
+            return arrays.keySet().stream().anyMatch(arrayPath -> arrayPath.startsWith(path + "."));
+        }
+
+        H deliverHeader() throws IOException {
+            if (decodedHeader == null && headerType != null) {
+                decodedHeader = objectMapper.treeToValue(header, headerType);
+                headerSink.accept(decodedHeader);
+            }
+            return decodedHeader;
+        }
+    }
+
+    private static class ArraySink<T> {
+        private final Class<T> elementType;
+        private final Consumer<List<T>> sink;
+
+        ArraySink(Class<T> elementType, Consumer<List<T>> sink) {
+            this.elementType = elementType;
+            this.sink = sink;
+        }
+
+        // Parser is on START_ARRAY
+        void drain(JsonParser parser, ObjectMapper objectMapper, int chunkSize) throws IOException {
+            List<T> chunk = new ArrayList<>(chunkSize);
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                chunk.add(objectMapper.readValue(parser, elementType));
+                if (chunk.size() >= chunkSize) {
+                    sink.accept(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                sink.accept(chunk);
+            }
+        }
+    }
+}
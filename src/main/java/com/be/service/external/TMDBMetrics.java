@@ -0,0 +1,231 @@
+package com.be.service.external;
+
+import com.be.model.dto.admin.SyncJobThroughputDTO;
+import com.be.model.dto.admin.SyncMetricsSummaryDTO;
+import com.be.model.dto.admin.TimerStatsDTO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters for the sync pipeline, exported at {@code /actuator/prometheus}.
+ * <ul>
+ *     <li>{@code tmdb.client.requests} - outbound TMDB latency per operation and status code</li>
+ *     <li>{@code tmdb.db.writes} / {@code tmdb.db.write.batch.size} - write transaction latency and rows per stage</li>
+ *     <li>{@code tmdb.sync.items} / {@code tmdb.sync.in.flight} - item outcomes and concurrency per sync job</li>
+ *     <li>{@code tmdb.rate.limiter.*} and {@code tmdb.http.pool.*} - time spent waiting before a request is sent</li>
+ * </ul>
+ * Together with the JVM and process CPU meters Actuator registers, this tells whether a slow sync waits on
+ * TMDB, on Postgres or on the application itself; {@link #getSummary()} puts those numbers side by side.
+ */
+@Component
+public class TMDBMetrics {
+    static final String CLIENT_REQUESTS = "tmdb.client.requests";
+    static final String DB_WRITES = "tmdb.db.writes";
+    static final String DB_WRITE_BATCH_SIZE = "tmdb.db.write.batch.size";
+    static final String SYNC_ITEMS = "tmdb.sync.items";
+    static final String SYNC_IN_FLIGHT = "tmdb.sync.in.flight";
+    static final String SYNC_RUN_THROUGHPUT = "tmdb.sync.run.throughput";
+
+    private final MeterRegistry registry;
+    private final TMDBRateLimiter rateLimiter;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Double> lastRunThroughput = new ConcurrentHashMap<>();
+
+    public TMDBMetrics(MeterRegistry registry,
+                       TMDBRateLimiter rateLimiter,
+                       TMDBHttpPoolMonitor httpPoolMonitor) {
+        this.registry = registry;
+        this.rateLimiter = rateLimiter;
+
+        Gauge.builder("tmdb.rate.limiter.rate", rateLimiter, limiter -> limiter.getStats().getCurrentRate())
+                .description("Current permits per second of the adaptive TMDB rate limiter")
+                .register(registry);
+        FunctionCounter.builder("tmdb.rate.limiter.throttled", rateLimiter, limiter -> limiter.getStats().getThrottledCount())
+                .description("429 responses received from TMDB")
+                .register(registry);
+        FunctionCounter.builder("tmdb.rate.limiter.wait", rateLimiter, limiter -> limiter.getStats().getTotalWaitMillis() / 1000.0)
+                .description("Total time callers waited for a rate limiter permit")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("tmdb.rate.limiter.available", rateLimiter, limiter -> limiter.getStats().getAvailablePermits())
+                .description("Permits the TMDB rate limiter can hand out without waiting")
+                .register(registry);
+        Gauge.builder("tmdb.http.pool.leased", httpPoolMonitor, monitor -> monitor.getStats().getLeased())
+                .description("Pooled TMDB connections currently serving a request")
+                .register(registry);
+        Gauge.builder("tmdb.http.pool.pending", httpPoolMonitor, monitor -> monitor.getStats().getPending())
+                .description("Requests queued for a pooled TMDB connection")
+                .register(registry);
+        Gauge.builder("tmdb.http.pool.idle", httpPoolMonitor, monitor -> monitor.getStats().getIdle())
+                .description("Open TMDB connections kept alive in the pool, ready for reuse")
+                .register(registry);
+    }
+
+    public Timer.Sample startRequest() {
+        return Timer.start(registry);
+    }
+
+    public void recordRequest(Timer.Sample sample, String operation, int status) {
+        sample.stop(Timer.builder(CLIENT_REQUESTS)
+                .description("Outbound TMDB requests, until the body is read")
+                .tag("operation", operation)
+                .tag("status", status > 0 ? String.valueOf(status) : "IO_ERROR")
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    public void recordRequest(Timer.Sample sample, String operation, Throwable error) {
+        recordRequest(sample, operation, statusOf(error));
+    }
+
+    private static int statusOf(Throwable error) {
+        if (error instanceof RestClientResponseException responseException) {
+            return responseException.getStatusCode().value();
+        }
+        if (error instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().value();
+        }
+        return 0;
+    }
+
+    /**
+     * Times one write transaction of {@code stage} and records how many rows it was given.
+     */
+    public <T> T timeWrite(String stage, int batchSize, Supplier<T> write) {
+        DistributionSummary.builder(DB_WRITE_BATCH_SIZE)
+                .tag("stage", stage)
+                .register(registry)
+                .record(batchSize);
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            T result = write.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder(DB_WRITES)
+                    .description("Sync write transactions")
+                    .tag("stage", stage)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    public void timeWrite(String stage, int batchSize, Runnable write) {
+        timeWrite(stage, batchSize, () -> {
+            write.run();
+            return null;
+        });
+    }
+
+    public AtomicInteger inFlight(String job) {
+        return inFlight.computeIfAbsent(job, name -> {
+            AtomicInteger gauge = new AtomicInteger();
+            Gauge.builder(SYNC_IN_FLIGHT, gauge, AtomicInteger::get)
+                    .description("Items of a sync job currently being processed")
+                    .tag("job", name)
+                    .register(registry);
+            return gauge;
+        });
+    }
+
+    public void recordItem(String job, boolean success, long durationNanos) {
+        Timer.builder(SYNC_ITEMS)
+                .description("Sync job items, by outcome")
+                .tag("job", job)
+                .tag("outcome", success ? "success" : "failure")
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRun(SyncRunResult result) {
+        lastRunThroughput.put(result.getJobName(), result.getItemsPerSecond());
+        Gauge.builder(SYNC_RUN_THROUGHPUT, lastRunThroughput, runs -> runs.getOrDefault(result.getJobName(), 0.0))
+                .description("Items per second of the last finished run of a sync job")
+                .tag("job", result.getJobName())
+                .register(registry);
+    }
+
+    public SyncMetricsSummaryDTO getSummary() {
+        List<TimerStatsDTO> requests = timerStats(CLIENT_REQUESTS, "operation", "status");
+        List<TimerStatsDTO> writes = timerStats(DB_WRITES, "stage", "outcome");
+
+        return SyncMetricsSummaryDTO.builder()
+                .tmdbRequests(requests)
+                .dbWrites(writes)
+                .jobs(jobStats())
+                .tmdbSeconds(requests.stream().mapToDouble(TimerStatsDTO::getTotalSeconds).sum())
+                .dbWriteSeconds(writes.stream().mapToDouble(TimerStatsDTO::getTotalSeconds).sum())
+                .rateLimitWaitSeconds(rateLimiter.getStats().getTotalWaitMillis() / 1000.0)
+                .throttledCount(rateLimiter.getStats().getThrottledCount())
+                .processCpuUsage(gaugeValue("process.cpu.usage"))
+                .systemCpuUsage(gaugeValue("system.cpu.usage"))
+                .build();
+    }
+
+    // Aggregates one timer over its second tag; the second tag marks errors unless it is 2xx or "success"
+    private List<TimerStatsDTO> timerStats(String name, String groupTag, String resultTag) {
+        Map<String, TimerStatsDTO> stats = new LinkedHashMap<>();
+        Collection<Timer> timers = registry.find(name).timers();
+        for (Timer timer : timers) {
+            String group = timer.getId().getTag(groupTag);
+            String result = timer.getId().getTag(resultTag);
+            boolean error = !("success".equals(result) || (result != null && result.startsWith("2")));
+
+            TimerStatsDTO stat = stats.computeIfAbsent(group, key -> TimerStatsDTO.builder().name(key).build());
+            stat.setCount(stat.getCount() + timer.count());
+            stat.setErrors(stat.getErrors() + (error ? timer.count() : 0));
+            stat.setTotalSeconds(stat.getTotalSeconds() + timer.totalTime(TimeUnit.SECONDS));
+            stat.setMaxMillis(Math.max(stat.getMaxMillis(), timer.max(TimeUnit.MILLISECONDS)));
+        }
+        stats.values().forEach(stat ->
+                stat.setMeanMillis(stat.getCount() == 0 ? 0 : stat.getTotalSeconds() * 1000 / stat.getCount()));
+        return new ArrayList<>(stats.values());
+    }
+
+    private List<SyncJobThroughputDTO> jobStats() {
+        Set<String> jobs = new TreeSet<>(inFlight.keySet());
+        List<SyncJobThroughputDTO> stats = new ArrayList<>();
+        for (String job : jobs) {
+            Timer succeeded = registry.find(SYNC_ITEMS).tags("job", job, "outcome", "success").timer();
+            Timer failed = registry.find(SYNC_ITEMS).tags("job", job, "outcome", "failure").timer();
+            long total = (succeeded != null ? succeeded.count() : 0) + (failed != null ? failed.count() : 0);
+            double totalSeconds = (succeeded != null ? succeeded.totalTime(TimeUnit.SECONDS) : 0)
+                    + (failed != null ? failed.totalTime(TimeUnit.SECONDS) : 0);
+
+            stats.add(SyncJobThroughputDTO.builder()
+                    .job(job)
+                    .succeeded(succeeded != null ? succeeded.count() : 0)
+                    .failed(failed != null ? failed.count() : 0)
+                    .meanItemMillis(total == 0 ? 0 : totalSeconds * 1000 / total)
+                    .inFlight(inFlight.get(job).get())
+                    .lastRunItemsPerSecond(lastRunThroughput.getOrDefault(job, 0.0))
+                    .build());
+        }
+        return stats;
+    }
+
+    private Double gaugeValue(String name) {
+        Gauge gauge = registry.find(name).gauge();
+        return gauge != null ? gauge.value() : null;
+    }
+}
@@ -0,0 +1,83 @@
+package com.be.service.external;
+
+import com.be.model.dto.admin.CapturedPayloadDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps a sample of raw TMDB response bodies in a bounded ring buffer so they can be
+ * inspected without logging every payload. Oldest entries are dropped once the buffer is full.
+ */
+@Component
+@Slf4j
+public class TMDBPayloadSampler {
+    private final double sampleRate;
+    private final int capacity;
+    private final int maxBytes;
+    private final Deque<CapturedPayloadDTO> buffer;
+
+    public TMDBPayloadSampler(@Value("${app.tmdb.capture.sample-rate:0.01}") double sampleRate,
+                              @Value("${app.tmdb.capture.capacity:50}") int capacity,
+                              @Value("${app.tmdb.capture.max-bytes:65536}") int maxBytes) {
+        this.sampleRate = Math.max(0d, Math.min(1d, sampleRate));
+        this.capacity = Math.max(1, capacity);
+        this.maxBytes = Math.max(0, maxBytes);
+        this.buffer = new ArrayDeque<>(this.capacity);
+    }
+
+    public void maybeCapture(String operation, String url, int status, byte[] body) {
+        if (sampleRate <= 0d || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+
+        int size = body != null ? body.length : 0;
+        boolean truncated = size > maxBytes;
+        String content = body != null
+                ? new String(body, 0, Math.min(size, maxBytes), StandardCharsets.UTF_8)
+                : null;
+
+        CapturedPayloadDTO payload = CapturedPayloadDTO.builder()
+                .capturedAt(ZonedDateTime.now())
+                .operation(operation)
+                .url(url)
+                .status(status)
+                .sizeBytes(size)
+                .truncated(truncated)
+                .body(content)
+                .build();
+
+        synchronized (buffer) {
+            if (buffer.size() >= capacity) {
+                buffer.pollFirst();
+            }
+            buffer.addLast(payload);
+        }
+        log.debug("Captured TMDB payload for {} ({} bytes)", operation, size);
+    }
+
+    // Newest first
+    public List<CapturedPayloadDTO> getPayloads() {
+        List<CapturedPayloadDTO> payloads;
+        synchronized (buffer) {
+            payloads = new ArrayList<>(buffer);
+        }
+        Collections.reverse(payloads);
+        return payloads;
+    }
+
+    public void clear() {
+        synchronized (buffer) {
+            buffer.clear();
+        }
+    }
+}
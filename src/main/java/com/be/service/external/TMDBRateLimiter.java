@@ -0,0 +1,202 @@
+package com.be.service.external;
+
+import com.be.model.dto.admin.RateLimiterStatsDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Process-wide token bucket shared by every outbound TMDB call.
+ * <p>
+ * The refill rate adapts to TMDB's answers: a 429 halves the rate and pauses the bucket for the
+ * {@code Retry-After} delay, while successful calls without recent throttling raise it again by
+ * roughly {@code increase-step} permits/s every second, up to {@code app.tmdb.rate-limit.max-rate}.
+ * <p>
+ * Must be registered as the last interceptor, because a throttled request is re-executed.
+ */
+@Component
+@Slf4j
+public class TMDBRateLimiter implements ClientHttpRequestInterceptor {
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+    private static final Duration RECOVERY_WINDOW = Duration.ofSeconds(10);
+
+    private final double minRate;
+    private final double maxRate;
+    private final double increaseStep;
+    private final double burst;
+    private final int maxRetries;
+    private final LongSupplier nanoClock;
+
+    // Bucket state, guarded by this
+    private double rate;
+    private double permits;
+    private long lastRefillNanos;
+    private long pausedUntilNanos;
+    private long lastThrottledNanos;
+
+    private final AtomicLong acquiredCount = new AtomicLong();
+    private final AtomicLong waitedCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong throttledCount = new AtomicLong();
+
+    @Autowired
+    public TMDBRateLimiter(@Value("${app.tmdb.rate-limit.initial-rate:40}") double initialRate,
+                           @Value("${app.tmdb.rate-limit.min-rate:2}") double minRate,
+                           @Value("${app.tmdb.rate-limit.max-rate:50}") double maxRate,
+                           @Value("${app.tmdb.rate-limit.increase-step:1}") double increaseStep,
+                           @Value("${app.tmdb.rate-limit.burst:20}") double burst,
+                           @Value("${app.tmdb.rate-limit.max-retries:3}") int maxRetries) {
+        this(initialRate, minRate, maxRate, increaseStep, burst, maxRetries, System::nanoTime);
+    }
+
+    // Tests drive the bucket with their own clock
+    TMDBRateLimiter(double initialRate, double minRate, double maxRate, double increaseStep, double burst,
+                    int maxRetries, LongSupplier nanoClock) {
+        this.minRate = minRate;
+        this.maxRate = Math.max(minRate, maxRate);
+        this.increaseStep = increaseStep;
+        this.burst = Math.max(1, burst);
+        this.maxRetries = maxRetries;
+        this.nanoClock = nanoClock;
+        this.rate = Math.max(minRate, Math.min(this.maxRate, initialRate));
+        this.permits = this.burst;
+        this.lastRefillNanos = nanoClock.getAsLong();
+        this.lastThrottledNanos = lastRefillNanos - RECOVERY_WINDOW.toNanos();
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        int attempt = 0;
+        while (true) {
+            acquire();
+            ClientHttpResponse response = execution.execute(request, body);
+
+            if (response.getStatusCode().value() != HttpStatus.TOO_MANY_REQUESTS.value()) {
+                onSuccess();
+                return response;
+            }
+
+            Duration retryAfter = parseRetryAfter(response.getHeaders().getFirst("Retry-After"));
+            onThrottled(retryAfter);
+            if (attempt++ >= maxRetries) {
+                log.warn("TMDB still throttling after {} retries: {}", maxRetries, request.getURI());
+                return response;
+            }
+            response.close();
+        }
+    }
+
+    /**
+     * Blocks until a permit is available. Also used by callers that do not go through RestTemplate.
+     */
+    public void acquire() {
+        long waitNanos = reserve();
+        acquiredCount.incrementAndGet();
+        if (waitNanos <= 0) {
+            return;
+        }
+
+        waitedCount.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for TMDB rate limit", e);
+        }
+    }
+
+    // Takes a permit (possibly going into debt) and returns how long the caller has to wait for it
+    private synchronized long reserve() {
+        long now = nanoClock.getAsLong();
+        refill(now);
+
+        long start = Math.max(now, pausedUntilNanos);
+        long waitNanos = start - now;
+        if (permits < 1) {
+            waitNanos += (long) ((1 - permits) / rate * TimeUnit.SECONDS.toNanos(1));
+        }
+        permits -= 1;
+        return waitNanos;
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefillNanos;
+        if (elapsed > 0) {
+            permits = Math.min(burst, permits + elapsed * rate / TimeUnit.SECONDS.toNanos(1));
+            lastRefillNanos = now;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        long now = nanoClock.getAsLong();
+        if (rate < maxRate && now - lastThrottledNanos > RECOVERY_WINDOW.toNanos()) {
+            refill(now);
+            rate = Math.min(maxRate, rate + increaseStep / Math.max(1, rate));
+        }
+    }
+
+    public synchronized void onThrottled(Duration retryAfter) {
+        long now = nanoClock.getAsLong();
+        refill(now);
+        throttledCount.incrementAndGet();
+        lastThrottledNanos = now;
+        rate = Math.max(minRate, rate / 2);
+        permits = Math.min(permits, 0);
+        pausedUntilNanos = Math.max(pausedUntilNanos, now + retryAfter.toNanos());
+        log.warn("TMDB returned 429, pausing for {} ms and lowering rate to {}/s",
+                retryAfter.toMillis(), String.format("%.2f", rate));
+    }
+
+    static Duration parseRetryAfter(String value) {
+        if (value == null || value.isBlank()) {
+            return DEFAULT_RETRY_AFTER;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime retryAt = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                Duration delay = Duration.between(ZonedDateTime.now(), retryAt);
+                return delay.isNegative() ? Duration.ZERO : delay;
+            } catch (Exception ignored) {
+                return DEFAULT_RETRY_AFTER;
+            }
+        }
+    }
+
+    public synchronized RateLimiterStatsDTO getStats() {
+        long now = nanoClock.getAsLong();
+        refill(now);
+        long waited = waitedCount.get();
+        return RateLimiterStatsDTO.builder()
+                .currentRate(rate)
+                .maxRate(maxRate)
+                .availablePermits(permits)
+                .pausedForMillis(Math.max(0, TimeUnit.NANOSECONDS.toMillis(pausedUntilNanos - now)))
+                .acquiredCount(acquiredCount.get())
+                .waitedCount(waited)
+                .throttledCount(throttledCount.get())
+                .totalWaitMillis(TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get()))
+                .avgWaitMillis(waited == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get()) / (double) waited)
+                .maxWaitMillis(TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()))
+                .build();
+    }
+}
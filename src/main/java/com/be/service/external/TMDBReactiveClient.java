@@ -0,0 +1,141 @@
+package com.be.service.external;
+
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Non-blocking TMDB client for fan-out paths (one call per movie of a result page).
+ * At most {@code app.tmdb.reactive.max-concurrency} calls are in flight per fan-out, and every call
+ * still takes a permit from the shared {@link TMDBRateLimiter}.
+ */
+@Component
+@Slf4j
+public class TMDBReactiveClient {
+    private final WebClient webClient;
+    private final TMDBClient tmdbClient;
+    private final TMDBPayloadSampler payloadSampler;
+    private final TMDBRateLimiter rateLimiter;
+    private final TMDBMetrics metrics;
+    private final int maxConcurrency;
+    private final Duration timeout;
+    private final int maxRetries;
+
+    public TMDBReactiveClient(WebClient.Builder webClientBuilder,
+                              TMDBClient tmdbClient,
+                              TMDBPayloadSampler payloadSampler,
+                              TMDBRateLimiter rateLimiter,
+                              TMDBMetrics metrics,
+                              @Value("${app.tmdb.token:''}") String bearerToken,
+                              @Value("${app.tmdb.reactive.max-concurrency:8}") int maxConcurrency,
+                              @Value("${app.tmdb.reactive.timeout:30s}") Duration timeout,
+                              @Value("${app.tmdb.http.connect-timeout:3s}") Duration connectTimeout,
+                              @Value("${app.tmdb.http.read-timeout:10s}") Duration readTimeout,
+                              @Value("${app.tmdb.rate-limit.max-retries:3}") int maxRetries) {
+        this.tmdbClient = tmdbClient;
+        this.payloadSampler = payloadSampler;
+        this.rateLimiter = rateLimiter;
+        this.metrics = metrics;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.timeout = timeout;
+        this.maxRetries = maxRetries;
+
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("tmdb")
+                .maxConnections(this.maxConcurrency * 2)
+                .maxIdleTime(Duration.ofSeconds(30))
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+
+        this.webClient = webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader("accept", "application/json")
+                .defaultHeader("Authorization", "Bearer " + bearerToken)
+                .filter(rateLimitFilter())
+                .build();
+    }
+
+    public <T> Mono<T> get(String url, Class<T> responseType, String operation) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = metrics.startRequest();
+            return exchange(url, responseType, operation)
+                    .doOnSuccess(result -> metrics.recordRequest(sample, operation, HttpStatus.OK.value()))
+                    .doOnError(e -> metrics.recordRequest(sample, operation, e));
+        });
+    }
+
+    private <T> Mono<T> exchange(String url, Class<T> responseType, String operation) {
+        return webClient.get()
+                .uri(url)
+                .retrieve()
+                .toEntity(byte[].class)
+                .retryWhen(Retry.max(maxRetries).filter(TMDBReactiveClient::isThrottled))
+                .flatMap(response -> {
+                    byte[] body = response.getBody();
+                    log.debug("TMDB API Response - {}: {} bytes", operation, body != null ? body.length : 0);
+                    payloadSampler.maybeCapture(operation, url, response.getStatusCode().value(), body);
+                    if (body == null || body.length == 0) {
+                        return Mono.empty();
+                    }
+                    try {
+                        return Mono.just(tmdbClient.getObjectMapper().readValue(body, responseType));
+                    } catch (IOException e) {
+                        return Mono.error(e);
+                    }
+                });
+    }
+
+    /**
+     * Runs {@code call} for every item with bounded concurrency and blocks until all have finished.
+     * Results keep the order of {@code items}; calls that complete empty are skipped.
+     */
+    public <I, R> List<R> fanOut(Collection<I> items, Function<I, Mono<R>> call) {
+        if (items == null || items.isEmpty()) {
+            return List.of();
+        }
+        return Flux.fromIterable(items)
+                .flatMapSequential(call, maxConcurrency)
+                .collectList()
+                .block(timeout);
+    }
+
+    // Acquiring a permit may sleep, so it runs off the event loop
+    private ExchangeFilterFunction rateLimitFilter() {
+        return (request, next) -> Mono.fromRunnable(rateLimiter::acquire)
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(next.exchange(request))
+                .doOnNext(response -> {
+                    if (response.statusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                        rateLimiter.onThrottled(TMDBRateLimiter.parseRetryAfter(
+                                response.headers().asHttpHeaders().getFirst("Retry-After")));
+                    } else {
+                        rateLimiter.onSuccess();
+                    }
+                });
+    }
+
+    private static boolean isThrottled(Throwable e) {
+        return e instanceof WebClientResponseException responseException
+                && responseException.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+}
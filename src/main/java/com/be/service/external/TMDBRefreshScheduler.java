@@ -0,0 +1,288 @@
+package com.be.service.external;
+
+import com.be.model.dto.CatalogItemDTO;
+import com.be.model.dto.admin.RefreshStatsDTO;
+import com.be.model.entity.SyncJobType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the catalog fresh without full re-syncs: every cycle the movies and casts with the highest
+ * refresh priority are re-fetched, within {@code app.tmdb.refresh.budget-per-hour} TMDB calls.
+ * <p>
+ * Priority is {@code ageHours * (1 + ln(1 + popularity) + traffic-weight * ln(1 + reads))}, where the
+ * age counts from the last sync and reads come from {@link ReadTrafficTracker}. Popular or frequently
+ * viewed titles therefore come up again after a few hours, while the long tail waits days.
+ * Items synced less than {@code min-age} ago are never picked.
+ * <p>
+ * Only the {@code stale-window} longest unsynced rows per table (and the most read ones) are scored, so a
+ * cycle reads a bounded slice of the {@code synced_at} index instead of ranking the whole table.
+ */
+@Service
+@Slf4j
+public class TMDBRefreshScheduler {
+    private static final String LEASE_NAME = "tmdb-refresh";
+    // Never-synced rows and the longest unsynced ones, both read off idx_<table>_synced_at
+    private static final String STALE_WINDOW = """
+            (SELECT * FROM (
+                (SELECT id, tmdb_id, popularity, synced_at, updated_at, created_at FROM %1$s
+                 WHERE synced_at IS NULL AND tmdb_id IS NOT NULL
+                 LIMIT :window)
+                UNION ALL
+                (SELECT id, tmdb_id, popularity, synced_at, updated_at, created_at FROM %1$s
+                 WHERE synced_at < :staleBefore AND tmdb_id IS NOT NULL
+                 ORDER BY synced_at
+                 LIMIT :window)
+            ) w) stale
+            """;
+    private static final String CANDIDATE_QUERY = """
+            SELECT id, tmdb_id, COALESCE(popularity, 0) AS popularity,
+                   EXTRACT(EPOCH FROM (now() - COALESCE(synced_at, updated_at, created_at))) / 3600.0 AS age_hours
+            FROM %s
+            WHERE tmdb_id IS NOT NULL
+              AND COALESCE(synced_at, updated_at, created_at) < :staleBefore
+            """;
+    // Same formula as score() without the read traffic, which only lives in memory
+    private static final String STALEST_ORDER = """
+            ORDER BY (1 + ln(1 + GREATEST(COALESCE(popularity, 0), 0)))
+                     * EXTRACT(EPOCH FROM (now() - COALESCE(synced_at, updated_at, created_at))) DESC
+            LIMIT :limit
+            """;
+
+    enum Kind {
+        MOVIE("movies", SyncJobType.MOVIES_FULL), CAST("casts", SyncJobType.CAST_DETAILS);
+
+        private final String table;
+        private final SyncJobType jobType;
+
+        Kind(String table, SyncJobType jobType) {
+            this.table = table;
+            this.jobType = jobType;
+        }
+    }
+
+    record Candidate(Kind kind, Long id, Long tmdbId, double score) {
+    }
+
+    private final TMDBService tmdbService;
+    private final ReadTrafficTracker trafficTracker;
+    private final PartitionedSyncExecutor syncExecutor;
+    private final SchedulerLeaseService leaseService;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final SyncDeadLetterService deadLetterService;
+    private final boolean enabled;
+    private final double budgetPerHour;
+    private final Duration interval;
+    private final Duration minAge;
+    private final double trafficWeight;
+    private final int candidateFactor;
+    private final int staleWindow;
+
+    // One cycle at a time, also when a lease takeover starts one next to the scheduled run
+    private final ReentrantLock cycleLock = new ReentrantLock();
+
+    // Budget and stats, guarded by this
+    private double credit;
+    private long lastCycleNanos;
+    private ZonedDateTime lastCycleAt;
+    private int lastCandidates;
+    private int lastMovies;
+    private int lastCasts;
+    private long lastFailed;
+    private List<String> lastErrors = List.of();
+    private long totalRefreshed;
+    private long totalFailed;
+
+    public TMDBRefreshScheduler(TMDBService tmdbService,
+                                ReadTrafficTracker trafficTracker,
+                                PartitionedSyncExecutor syncExecutor,
+                                SchedulerLeaseService leaseService,
+                                NamedParameterJdbcTemplate namedJdbcTemplate,
+                                SyncDeadLetterService deadLetterService,
+                                @Value("${app.tmdb.refresh.enabled:true}") boolean enabled,
+                                @Value("${app.tmdb.refresh.budget-per-hour:600}") double budgetPerHour,
+                                @Value("${app.tmdb.refresh.interval:5m}") Duration interval,
+                                @Value("${app.tmdb.refresh.min-age:6h}") Duration minAge,
+                                @Value("${app.tmdb.refresh.traffic-weight:2}") double trafficWeight,
+                                @Value("${app.tmdb.refresh.candidate-factor:4}") int candidateFactor,
+                                @Value("${app.tmdb.refresh.stale-window:5000}") int staleWindow) {
+        this.tmdbService = tmdbService;
+        this.trafficTracker = trafficTracker;
+        this.syncExecutor = syncExecutor;
+        this.leaseService = leaseService;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.deadLetterService = deadLetterService;
+        this.enabled = enabled;
+        this.budgetPerHour = Math.max(0, budgetPerHour);
+        this.interval = interval;
+        this.minAge = minAge;
+        this.trafficWeight = trafficWeight;
+        this.candidateFactor = Math.max(1, candidateFactor);
+        this.staleWindow = Math.max(1, staleWindow);
+        this.lastCycleNanos = System.nanoTime() - interval.toNanos();
+    }
+
+    @Scheduled(fixedDelayString = "${app.tmdb.refresh.interval:5m}",
+            initialDelayString = "${app.tmdb.refresh.initial-delay:2m}")
+    public void scheduledRefresh() {
+        if (!enabled || budgetPerHour <= 0) {
+            return;
+        }
+        leaseService.runExclusive(LEASE_NAME, this::refresh);
+    }
+
+    /**
+     * Runs one refresh cycle. Unused budget carries over, but never more than one interval's worth,
+     * so a node that just took over the lease does not burst.
+     */
+    public void refresh() {
+        if (!cycleLock.tryLock()) {
+            return;
+        }
+        try {
+            int allowance;
+            synchronized (this) {
+                long now = System.nanoTime();
+                double elapsedHours = (now - lastCycleNanos) / 3_600_000_000_000.0;
+                lastCycleNanos = now;
+                double maxCredit = budgetPerHour * interval.toMillis() / 3_600_000.0;
+                credit = Math.min(Math.max(maxCredit, 1), credit + budgetPerHour * elapsedHours);
+                allowance = (int) credit;
+            }
+            trafficTracker.decay();
+            if (allowance == 0) {
+                return;
+            }
+
+            List<Candidate> selected = selectCandidates(allowance);
+            if (selected.isEmpty()) {
+                return;
+            }
+            // Each movie and cast refresh is one append_to_response call; extra review pages are not counted
+            SyncRunResult result = syncExecutor.run("tmdb-refresh", selected.size(),
+                    sink -> sink.accept(selected),
+                    this::refreshCandidate,
+                    candidate -> candidate.kind().name().toLowerCase() + " " + candidate.tmdbId());
+            recordCycle(selected, result);
+        } finally {
+            cycleLock.unlock();
+        }
+    }
+
+    private synchronized void recordCycle(List<Candidate> selected, SyncRunResult result) {
+        credit -= selected.size();
+        lastCycleAt = ZonedDateTime.now();
+        lastCandidates = selected.size();
+        lastMovies = (int) selected.stream().filter(candidate -> candidate.kind() == Kind.MOVIE).count();
+        lastCasts = selected.size() - lastMovies;
+        lastFailed = result.getFailed();
+        lastErrors = result.getErrors();
+        totalRefreshed += result.getProcessed();
+        totalFailed += result.getFailed();
+        log.info("TMDB refresh: {} movies and {} casts in {} ms, {} failed, {} calls of credit left",
+                lastMovies, lastCasts, result.getElapsed().toMillis(), lastFailed, String.format("%.1f", credit));
+    }
+
+    /**
+     * Merges the stalest rows by popularity with the most read ones, then keeps the best {@code limit}
+     * by full score. Reading {@code candidate-factor} times the allowance from the database leaves room
+     * for traffic to reorder them.
+     */
+    List<Candidate> selectCandidates(int limit) {
+        // The Postgres driver cannot bind a ZonedDateTime
+        Timestamp staleBefore = Timestamp.from(Instant.now().minus(minAge));
+        int fetchSize = limit * candidateFactor;
+
+        Map<String, Candidate> unique = new HashMap<>();
+        for (Kind kind : Kind.values()) {
+            Map<Long, Double> hot = kind == Kind.MOVIE
+                    ? trafficTracker.topMovies(fetchSize)
+                    : trafficTracker.topCasts(fetchSize);
+
+            List<Candidate> candidates = new ArrayList<>(namedJdbcTemplate.query(
+                    String.format(CANDIDATE_QUERY, String.format(STALE_WINDOW, kind.table)) + STALEST_ORDER,
+                    Map.of("staleBefore", staleBefore, "limit", fetchSize, "window", Math.max(staleWindow, fetchSize)),
+                    (rs, rowNum) -> candidate(kind, rs.getLong("id"), rs.getLong("tmdb_id"),
+                            rs.getDouble("popularity"), rs.getDouble("age_hours"))));
+            if (!hot.isEmpty()) {
+                candidates.addAll(namedJdbcTemplate.query(
+                        String.format(CANDIDATE_QUERY, kind.table) + " AND id IN (:ids)",
+                        Map.of("staleBefore", staleBefore, "ids", hot.keySet()),
+                        (rs, rowNum) -> candidate(kind, rs.getLong("id"), rs.getLong("tmdb_id"),
+                                rs.getDouble("popularity"), rs.getDouble("age_hours"))));
+            }
+            candidates.forEach(candidate -> unique.putIfAbsent(kind + ":" + candidate.id(), candidate));
+        }
+
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(
+                Comparator.comparingDouble(Candidate::score).reversed());
+        queue.addAll(unique.values());
+
+        List<Candidate> selected = new ArrayList<>(Math.min(limit, queue.size()));
+        while (selected.size() < limit && !queue.isEmpty()) {
+            selected.add(queue.poll());
+        }
+        return selected;
+    }
+
+    private Candidate candidate(Kind kind, Long id, Long tmdbId, double popularity, double ageHours) {
+        double reads = kind == Kind.MOVIE ? trafficTracker.movieScore(id) : trafficTracker.castScore(id);
+        return new Candidate(kind, id, tmdbId, score(popularity, ageHours, reads));
+    }
+
+    double score(double popularity, double ageHours, double reads) {
+        return Math.max(0, ageHours)
+                * (1 + Math.log1p(Math.max(0, popularity)) + trafficWeight * Math.log1p(Math.max(0, reads)));
+    }
+
+    private void refreshCandidate(Candidate candidate) {
+        try {
+            if (candidate.kind() == Kind.MOVIE) {
+                tmdbService.syncMovie(candidate.tmdbId());
+            } else {
+                tmdbService.syncCastDetails(candidate.tmdbId());
+            }
+        } catch (RuntimeException e) {
+            deadLetterService.record(candidate.kind().jobType,
+                    new CatalogItemDTO(candidate.id(), candidate.tmdbId(), null), LEASE_NAME, e);
+            // Titles removed from TMDB would otherwise stay on top and eat the budget every cycle
+            namedJdbcTemplate.update(
+                    String.format("UPDATE %s SET synced_at = now() WHERE id = :id", candidate.kind().table),
+                    Map.of("id", candidate.id()));
+            throw e;
+        }
+    }
+
+    public synchronized RefreshStatsDTO getStats() {
+        return RefreshStatsDTO.builder()
+                .enabled(enabled)
+                .budgetPerHour(budgetPerHour)
+                .availableCredit(credit)
+                .lastCycleAt(lastCycleAt)
+                .lastCandidates(lastCandidates)
+                .lastMovies(lastMovies)
+                .lastCasts(lastCasts)
+                .lastFailed(lastFailed)
+                .lastErrors(lastErrors)
+                .totalRefreshed(totalRefreshed)
+                .totalFailed(totalFailed)
+                .trackedMovies(trafficTracker.getTrackedMovies())
+                .trackedCasts(trafficTracker.getTrackedCasts())
+                .build();
+    }
+}
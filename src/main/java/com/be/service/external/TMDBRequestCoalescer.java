@@ -0,0 +1,140 @@
+package com.be.service.external;
+
+import com.be.model.dto.admin.CoalescerStatsDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for TMDB reads: while a fetch for a URL is in flight, identical calls wait for it
+ * and get the same response body or exception instead of issuing their own request.
+ * Only the raw bytes are shared; each caller decodes its own DTOs, so no two callers ever hold the same
+ * mutable instance. Nothing is kept once the fetch completes; caching is {@link TMDBResponseCache}'s job.
+ * <p>
+ * Waiters give up after {@code app.tmdb.coalescing.max-wait} (by default the HTTP read timeout) with
+ * the same {@link ResourceAccessException} a timed-out request of their own would raise, so a stuck
+ * leader cannot hold its followers longer than a direct call could.
+ */
+@Component
+@Slf4j
+public class TMDBRequestCoalescer {
+    private final boolean enabled;
+    private final Duration maxWait;
+    private final Map<String, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong fetchCount = new AtomicLong();
+    private final AtomicLong collapsedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong timedOutCount = new AtomicLong();
+
+    public TMDBRequestCoalescer(@Value("${app.tmdb.coalescing.enabled:true}") boolean enabled,
+                                @Value("${app.tmdb.coalescing.max-wait:${app.tmdb.http.read-timeout:10s}}") Duration maxWait) {
+        this.enabled = enabled;
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * Returns the response body of {@code fetch}, or of the identical fetch already in flight.
+     * The array is shared with the other callers and must not be modified.
+     */
+    public byte[] execute(String url, Supplier<byte[]> fetch) {
+        if (!enabled) {
+            return fetch.get();
+        }
+
+        String key = normalize(url);
+        CompletableFuture<byte[]> pending = new CompletableFuture<>();
+        CompletableFuture<byte[]> leader = inFlight.putIfAbsent(key, pending);
+        if (leader != null) {
+            collapsedCount.incrementAndGet();
+            log.debug("Joined in-flight TMDB request: {}", key);
+            return await(leader, key);
+        }
+
+        fetchCount.incrementAndGet();
+        try {
+            byte[] result = fetch.get();
+            pending.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            failedCount.incrementAndGet();
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    private byte[] await(CompletableFuture<byte[]> leader, String key) {
+        try {
+            return leader.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timedOutCount.incrementAndGet();
+            throw new ResourceAccessException("Timed out after " + maxWait.toMillis()
+                    + " ms waiting for in-flight TMDB request " + key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for TMDB response", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    // Same resource regardless of host case or query parameter order
+    static String normalize(String url) {
+        UriComponents uri = UriComponentsBuilder.fromUriString(url).build();
+        StringBuilder key = new StringBuilder()
+                .append(uri.getHost() != null ? uri.getHost().toLowerCase() : "")
+                .append(uri.getPath() != null ? uri.getPath() : "");
+
+        MultiValueMap<String, String> params = uri.getQueryParams();
+        if (!params.isEmpty()) {
+            char separator = '?';
+            for (Map.Entry<String, List<String>> param : new TreeMap<>(params).entrySet()) {
+                for (String value : param.getValue()) {
+                    key.append(separator).append(param.getKey());
+                    if (value != null) {
+                        key.append('=').append(value);
+                    }
+                    separator = '&';
+                }
+            }
+        }
+        return key.toString();
+    }
+
+    public CoalescerStatsDTO getStats() {
+        long fetches = fetchCount.get();
+        long collapsed = collapsedCount.get();
+        long total = fetches + collapsed;
+        return CoalescerStatsDTO.builder()
+                .enabled(enabled)
+                .inFlight(inFlight.size())
+                .fetchCount(fetches)
+                .collapsedCount(collapsed)
+                .failedCount(failedCount.get())
+                .timedOutCount(timedOutCount.get())
+                .collapseRate(total == 0 ? 0 : (double) collapsed / total)
+                .build();
+    }
+}
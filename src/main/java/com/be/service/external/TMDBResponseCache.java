@@ -0,0 +1,145 @@
+package com.be.service.external;
+
+import com.be.appexception.BadRequestException;
+import com.be.model.dto.admin.CacheRegionStatsDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cache in front of the TMDB read endpoints.
+ * Each region has its own size bound (LRU eviction) and TTL, configured with
+ * {@code app.tmdb.cache.<region>.max-size} and {@code app.tmdb.cache.<region>.ttl}.
+ * <p>
+ * Responses are kept as JSON and every hit decodes a fresh copy, so callers may modify what they get
+ * without changing what the next caller sees. Only the read endpoints go through this cache; syncs
+ * always fetch from TMDB, since a write based on a 30-minute-old response would undo fresher data.
+ */
+@Component
+@Slf4j
+public class TMDBResponseCache {
+
+    @Getter
+    public enum Region {
+        MOVIE_DETAILS("movie-details", 1000, Duration.ofMinutes(30)),
+        MOVIE_CREDITS("movie-credits", 1000, Duration.ofHours(1)),
+        MOVIE_VIDEOS("movie-videos", 1000, Duration.ofHours(1)),
+        MOVIE_REVIEWS("movie-reviews", 1000, Duration.ofMinutes(30)),
+        GENRES("genres", 10, Duration.ofHours(24)),
+        CAST_DETAILS("cast-details", 1000, Duration.ofHours(6));
+
+        private final String key;
+        private final long defaultMaxSize;
+        private final Duration defaultTtl;
+
+        Region(String key, long defaultMaxSize, Duration defaultTtl) {
+            this.key = key;
+            this.defaultMaxSize = defaultMaxSize;
+            this.defaultTtl = defaultTtl;
+        }
+
+        public static Region fromKey(String key) {
+            for (Region region : values()) {
+                if (region.key.equalsIgnoreCase(key) || region.name().equalsIgnoreCase(key)) {
+                    return region;
+                }
+            }
+            throw new BadRequestException("Unknown cache region: " + key);
+        }
+    }
+
+    private record Entry(Class<?> type, byte[] json) {
+    }
+
+    private final boolean enabled;
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final Map<Region, Cache<String, Entry>> caches = new EnumMap<>(Region.class);
+    private final Map<Region, Duration> ttls = new EnumMap<>(Region.class);
+
+    public TMDBResponseCache(Environment environment) {
+        this.enabled = environment.getProperty("app.tmdb.cache.enabled", Boolean.class, true);
+        for (Region region : Region.values()) {
+            String prefix = "app.tmdb.cache." + region.getKey();
+            long maxSize = environment.getProperty(prefix + ".max-size", Long.class, region.getDefaultMaxSize());
+            Duration ttl = environment.getProperty(prefix + ".ttl", Duration.class, region.getDefaultTtl());
+
+            caches.put(region, CacheBuilder.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .build());
+            ttls.put(region, ttl);
+        }
+        log.info("TMDB response cache enabled: {}", enabled);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Region region, String key, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        Cache<String, Entry> cache = caches.get(region);
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null) {
+            try {
+                return (T) objectMapper.readValue(cached.json(), cached.type());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        T value = loader.get();
+        if (value != null) {
+            try {
+                cache.put(key, new Entry(value.getClass(), objectMapper.writeValueAsBytes(value)));
+            } catch (JsonProcessingException e) {
+                log.warn("Not caching TMDB response {}: {}", key, e.getMessage());
+            }
+        }
+        return value;
+    }
+
+    public void invalidate(Region region) {
+        caches.get(region).invalidateAll();
+        log.info("Flushed TMDB cache region {}", region.getKey());
+    }
+
+    public void invalidateAll() {
+        caches.values().forEach(Cache::invalidateAll);
+        log.info("Flushed all TMDB cache regions");
+    }
+
+    public List<CacheRegionStatsDTO> getStats() {
+        List<CacheRegionStatsDTO> stats = new ArrayList<>();
+        caches.forEach((region, cache) -> {
+            CacheStats cacheStats = cache.stats();
+            stats.add(CacheRegionStatsDTO.builder()
+                    .region(region.getKey())
+                    .size(cache.size())
+                    .ttlSeconds(ttls.get(region).toSeconds())
+                    .hitCount(cacheStats.hitCount())
+                    .missCount(cacheStats.missCount())
+                    .evictionCount(cacheStats.evictionCount())
+                    .hitRate(cacheStats.hitRate())
+                    .build());
+        });
+        return stats;
+    }
+}
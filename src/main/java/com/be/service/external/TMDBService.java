@@ -1,24 +1,31 @@
 package com.be.service.external;
 
 import com.be.appexception.ResourceNotFoundException;
+import com.be.model.dto.CatalogItemDTO;
 import com.be.model.dto.tmdb.*;
 import com.be.model.entity.*;
 import com.be.repository.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpEntity;
-import org.springframework.http.ResponseEntity;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
 
 import java.time.*;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,19 +35,30 @@ public class TMDBService {
     @Value("${app.tmdb.token:''}")
     private String bearerToken;
 
-    private final String BASE_URL = "https://api.themoviedb.org/3";
+    @Value("${app.tmdb.base-url:https://api.themoviedb.org/3}")
+    private String BASE_URL;
     private final String BASE_IMAGE_URL = "https://image.tmdb.org/t/p/";
-    private static final int BATCH_SIZE = 20;
     private final RestTemplate restTemplate;
     private final MovieRepository movieRepository;
     private final MovieTrailerRepository movieTrailerRepository;
     private final MovieCastRepository movieCastRepository;
     private final CastRepository castRepository;
     private final GenreRepository genreRepository;
-    private final ReviewRepository reviewRepository;
-    private final UserRepository userRepository;
     private final TransactionTemplate transactionTemplate;
-    private final SystemUserService systemUserService;
+    private final ReviewBatchWriter reviewBatchWriter;
+    private final TMDBResponseCache responseCache;
+    private final TMDBClient tmdbClient;
+    private final TMDBReactiveClient reactiveClient;
+    private final MovieBatchWriter movieBatchWriter;
+    private final GenreDictionary genreDictionary;
+    private final CastCreditWriter castCreditWriter;
+    private final SchedulerLeaseService leaseService;
+    private final TMDBMetrics metrics;
+    private final CategorySnapshotWriter categorySnapshotWriter;
+    private final SyncDeadLetterService deadLetterService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     // Image sizes available from TMDB
     public static class ImageSize {
@@ -68,36 +86,56 @@ public class TMDBService {
     }
 
 
-    public TMDBService(RestTemplate restTemplate,
+    public TMDBService(@Qualifier("tmdbRestTemplate") RestTemplate restTemplate,
                        MovieRepository movieRepository,
                        MovieTrailerRepository movieTrailerRepository,
                        MovieCastRepository movieCastRepository,
                        CastRepository castRepository,
                        GenreRepository genreRepository,
-                       ReviewRepository reviewRepository,
-                       UserRepository userRepository,
-                       TransactionTemplate transactionTemplate, SystemUserService systemUserService) {
+                       TransactionTemplate transactionTemplate, ReviewBatchWriter reviewBatchWriter,
+                       TMDBResponseCache responseCache,
+                       TMDBClient tmdbClient,
+                       TMDBRateLimiter rateLimiter,
+                       TMDBReactiveClient reactiveClient,
+                       MovieBatchWriter movieBatchWriter,
+                       GenreDictionary genreDictionary,
+                       CastCreditWriter castCreditWriter,
+                       SchedulerLeaseService leaseService,
+                       TMDBMetrics metrics,
+                       CategorySnapshotWriter categorySnapshotWriter,
+                       // Lazy: the dead letter service retries through SyncItemTasks, which calls back into this class
+                       @Lazy SyncDeadLetterService deadLetterService) {
         this.movieTrailerRepository = movieTrailerRepository;
         this.movieCastRepository = movieCastRepository;
         this.castRepository = castRepository;
         this.genreRepository = genreRepository;
-        this.reviewRepository = reviewRepository;
-        this.userRepository = userRepository;
         this.transactionTemplate = transactionTemplate;
-        this.systemUserService = systemUserService;
+        this.reviewBatchWriter = reviewBatchWriter;
+        this.responseCache = responseCache;
+        this.tmdbClient = tmdbClient;
+        this.reactiveClient = reactiveClient;
+        this.movieBatchWriter = movieBatchWriter;
+        this.genreDictionary = genreDictionary;
+        this.castCreditWriter = castCreditWriter;
+        this.leaseService = leaseService;
+        this.metrics = metrics;
+        this.categorySnapshotWriter = categorySnapshotWriter;
+        this.deadLetterService = deadLetterService;
         // Configure RestTemplate with headers
         restTemplate.getInterceptors().add((request, body, execution) -> {
             request.getHeaders().add("accept", "application/json");
             request.getHeaders().add("Authorization", "Bearer " + bearerToken);
             return execution.execute(request, body);
         });
+        // Shared limiter for every TMDB call; keep it last since it may re-execute throttled requests
+        restTemplate.getInterceptors().add(rateLimiter);
         this.restTemplate = restTemplate;
         this.movieRepository = movieRepository;
     }
 
     public Movie importMovieFromTMDB(Long tmdbId) {
         String url = String.format("%s/movie/%d", BASE_URL, tmdbId);
-        TMDBMovieDTO tmdbMovie = restTemplate.getForObject(url, TMDBMovieDTO.class);
+        TMDBMovieDTO tmdbMovie = tmdbClient.get(url, TMDBMovieDTO.class, "movie-details");
 
         return Movie.builder()
                 .id(tmdbMovie.getId())
@@ -117,7 +155,7 @@ public class TMDBService {
     public TMDBSearchResultDTO searchMulti(String query, int page) {
         String url = String.format("%s/search/multi?query=%s&page=%d",
                 BASE_URL, query, page);
-        return restTemplate.getForObject(url, TMDBSearchResultDTO.class);
+        return tmdbClient.get(url, TMDBSearchResultDTO.class, "search-multi");
     }
 
     // Movie-specific search
@@ -125,29 +163,21 @@ public class TMDBService {
         String url = String.format("%s/search/movie?query=%s&include_adult=false&language=en-US&page=%d",
                 BASE_URL, query, page);
 
-        log.info("searchMovies - TMDB API Request: {}", url);
-        ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-        log.info("searchMovies - TMDB API Response: {}", response.getBody());
-
-        return restTemplate.getForObject(url, TMDBSearchResultDTO.class);
+        return tmdbClient.get(url, TMDBSearchResultDTO.class, "search-movies");
     }
 
     // Get trending movies (day/week)
     public List<TMDBTrendingItemDTO> getTrendingMovies(String timeWindow) { // timeWindow: "day" or "week"
         String url = String.format("%s/trending/movie/%s",
                 BASE_URL, timeWindow);
-        return restTemplate.getForObject(url, TMDBTrendingResponse.class).getResults();
+        return tmdbClient.get(url, TMDBTrendingResponse.class, "trending").getResults();
     }
 
     public TMDBTrendingResponse getTrending(String timeWindow) {
         String url = String.format("%s/trending/movie/%s?language=en-US",
                 BASE_URL, timeWindow);
 
-        log.info("getTrending - TMDB API Request - Trending: {}", url);
-        ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-        log.info("getTrending - TMDB API Response: {}", response.getBody());
-
-        return restTemplate.getForObject(url, TMDBTrendingResponse.class);
+        return tmdbClient.get(url, TMDBTrendingResponse.class, "trending");
     }
 
     // Get trending movies by today
@@ -164,7 +194,14 @@ public class TMDBService {
     public List<TMDBVideoDTO> getMovieTrailers(Long movieId) {
         String url = String.format("%s/movie/%d/videos",
                 BASE_URL, movieId);
-        TMDBVideoResponse response = restTemplate.getForObject(url, TMDBVideoResponse.class);
+        TMDBVideoResponse response = tmdbClient.get(url, TMDBVideoResponse.class, "movie-videos");
+        return filterTrailers(response);
+    }
+
+    private List<TMDBVideoDTO> filterTrailers(TMDBVideoResponse response) {
+        if (response == null || response.getResults() == null) {
+            return new ArrayList<>();
+        }
         return response.getResults().stream()
                 .filter(video -> "Trailer".equals(video.getType()))
                 .collect(Collectors.toList());
@@ -174,43 +211,119 @@ public class TMDBService {
     public List<TMDBMovieTrailerDTO> getLatestTrailers() {
         String upcomingUrl = String.format("%s/movie/upcoming",
                 BASE_URL);
-        TMDBMovieResponse upcoming = restTemplate.getForObject(upcomingUrl, TMDBMovieResponse.class);
-
-        return upcoming.getResults().stream()
-                .map(movie -> {
-                    List<TMDBVideoDTO> trailers = getMovieTrailers(movie.getId());
-                    return new TMDBMovieTrailerDTO(movie, trailers);
-                })
+        TMDBMovieResponse upcoming = tmdbClient.get(upcomingUrl, TMDBMovieResponse.class, "upcoming");
+
+        // Fetch trailers for all upcoming movies concurrently
+        List<TMDBMovieTrailerDTO> movieTrailers = reactiveClient.fanOut(upcoming.getResults(), movie ->
+                reactiveClient.get(String.format("%s/movie/%d/videos", BASE_URL, movie.getId()),
+                                TMDBVideoResponse.class, "movie-videos")
+                        .map(videos -> new TMDBMovieTrailerDTO(movie, filterTrailers(videos)))
+                        .onErrorResume(e -> {
+                            log.warn("Error getting trailers for movie {}: {}", movie.getId(), e.getMessage());
+                            return Mono.empty();
+                        }));
+
+        return movieTrailers.stream()
                 .filter(mt -> !mt.getTrailers().isEmpty())
                 .collect(Collectors.toList());
     }
 
+    // Get movie details for several movies concurrently, keyed by TMDB id. Failed lookups are left out.
+    public Map<Long, TMDBMovieDTO> getMovieDetailsByIds(Collection<Long> movieIds) {
+        return getMovieDetailsByIds(movieIds, (movieId, e) -> { });
+    }
+
+    // Same, but every failed lookup is also handed to onFailure so the caller can record it
+    public Map<Long, TMDBMovieDTO> getMovieDetailsByIds(Collection<Long> movieIds,
+                                                        BiConsumer<Long, Throwable> onFailure) {
+        List<TMDBMovieDTO> details = reactiveClient.fanOut(movieIds, movieId ->
+                reactiveClient.get(movieDetailsUrl(movieId), TMDBMovieDTO.class, "movie-details")
+                        .onErrorResume(e -> {
+                            log.warn("Error getting details for movie {}: {}", movieId, e.getMessage());
+                            onFailure.accept(movieId, e);
+                            return Mono.empty();
+                        }));
+
+        return details.stream()
+                .collect(Collectors.toMap(TMDBMovieDTO::getId, detail -> detail, (a, b) -> a));
+    }
+
+    /**
+     * Upserts a batch of movie details through {@link MovieBatchWriter}. If the batch fails, each movie is
+     * retried on its own so one bad record does not drop the rest; movies that still fail go to {@code onFailure}.
+     */
+    public MovieWriteResult saveMovies(Collection<TMDBMovieDTO> details, BiConsumer<Long, Throwable> onFailure) {
+        if (details.isEmpty()) {
+            return MovieWriteResult.empty();
+        }
+        try {
+            return movieBatchWriter.upsertMovies(details.stream().map(this::toMovie).toList(), null);
+        } catch (Exception e) {
+            log.warn("Batch save of {} movies failed, retrying one by one: {}", details.size(), e.getMessage());
+        }
+
+        Map<Long, Long> movieIds = new HashMap<>();
+        int written = 0;
+        int unchanged = 0;
+        for (TMDBMovieDTO detail : details) {
+            try {
+                MovieWriteResult result = movieBatchWriter.upsertMovies(List.of(toMovie(detail)), null);
+                movieIds.putAll(result.getMovieIds());
+                written += result.getWritten();
+                unchanged += result.getUnchanged();
+            } catch (Exception e) {
+                log.error("Error saving movie {}: {}", detail.getId(), e.getMessage());
+                onFailure.accept(detail.getId(), e);
+            }
+        }
+        return MovieWriteResult.builder()
+                .movieIds(movieIds)
+                .written(written)
+                .unchanged(unchanged)
+                .build();
+    }
+
     // Get popular movies
     public TMDBMovieResponse getPopularMovies(int page) {
         String url = String.format("%s/movie/popular?language=en-US&page=%d", BASE_URL, page);
 
-        log.info("TMDB API Request - Get Popular Movies: {}", url);
-        ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-        log.info("TMDB API Response - Get Popular Movies: {}", response.getBody());
-
-        return restTemplate.getForObject(url, TMDBMovieResponse.class);
+        return tmdbClient.get(url, TMDBMovieResponse.class, "popular");
     }
 
     // Get top rated movies
     public List<TMDBMovieDTO> getTopRatedMovies(int page) {
         String url = String.format("%s/movie/top_rated?page=%d",
                 BASE_URL, page);
-        return restTemplate.getForObject(url, TMDBMovieResponse.class).getResults();
+        return tmdbClient.get(url, TMDBMovieResponse.class, "top-rated").getResults();
     }
 
     public TMDBMovieDTO getMovieDetails(Long movieId) {
-        String url = String.format("%s/movie/%d?language=en-US", BASE_URL, movieId);
+        return responseCache.get(TMDBResponseCache.Region.MOVIE_DETAILS, movieDetailsUrl(movieId),
+                () -> fetchMovieDetails(movieId));
+    }
+
+    // Syncs bypass the response cache, which only serves the read endpoints
+    private TMDBMovieDTO fetchMovieDetails(Long movieId) {
+        return tmdbClient.get(movieDetailsUrl(movieId), TMDBMovieDTO.class, "movie-details");
+    }
+
+    private String movieDetailsUrl(Long movieId) {
+        return String.format("%s/movie/%d?language=en-US", BASE_URL, movieId);
+    }
+
+    // Details, credits, videos and the first review page in one call; only used to sync, so never cached
+    public TMDBMovieFullDTO getMovieWithAppends(Long movieId) {
+        String url = String.format("%s/movie/%d?append_to_response=credits,videos,reviews&language=en-US",
+                BASE_URL, movieId);
 
-        log.info("TMDB API Request - Get Movie Details: {}", url);
-        ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-        log.info("TMDB API Response: {}", response.getBody());
+        return tmdbClient.get(url, TMDBMovieFullDTO.class, "movie-full");
+    }
 
-        return restTemplate.getForObject(url, TMDBMovieDTO.class);
+    // IDs changed between the two dates (at most 14 days apart); resource is "movie" or "person"
+    public TMDBChangesResponse getChanges(String resource, LocalDate startDate, LocalDate endDate, int page) {
+        String url = String.format("%s/%s/changes?start_date=%s&end_date=%s&page=%d",
+                BASE_URL, resource, startDate, endDate, page);
+        return tmdbClient.get(url, TMDBChangesResponse.class, resource + "-changes");
     }
 
     // Rate Movie
@@ -254,28 +367,35 @@ public class TMDBService {
     /*===================================================SYNC===================================================SYNC*/
     @Async
     public CompletableFuture<String> syncTrendingMovies() {
+        Instant runStartedAt = Instant.now();
         try {
             log.info("Started syncing trending movies");
             try {
                 log.info("Starting sync of trending movies day");
                 TMDBTrendingResponse response = getTrending("day");
-
-                for (TMDBTrendingItemDTO item : response.getResults()) {
-                    saveOrUpdateMovieTrending(item, CategoryType.TRENDING_DAY);
-                }
-                log.info("Completed sync of {} trending movies day", response.getResults().size());
+                List<Long> tmdbIds = response.getResults().stream()
+                        .map(TMDBTrendingItemDTO::getId)
+                        .toList();
+
+                MovieWriteResult saved = saveCategoryPage(tmdbIds, CategoryType.TRENDING_DAY, runStartedAt,
+                        "trending-sync");
+                log.info("Completed sync of {} trending movies day: {} written, {} unchanged",
+                        response.getResults().size(), saved.getWritten(), saved.getUnchanged());
             } catch (Exception e) {
                 log.error("Error syncing trending movies: ", e);
             }
 
             try {
                 log.info("Starting sync of trending movies week");
-                TMDBTrendingResponse response = getTrending("day");
-
-                for (TMDBTrendingItemDTO item : response.getResults()) {
-                    saveOrUpdateMovieTrending(item, CategoryType.TRENDING_WEEK);
-                }
-                log.info("Completed sync of {} trending movies week", response.getResults().size());
+                TMDBTrendingResponse response = getTrending("week");
+                List<Long> tmdbIds = response.getResults().stream()
+                        .map(TMDBTrendingItemDTO::getId)
+                        .toList();
+
+                MovieWriteResult saved = saveCategoryPage(tmdbIds, CategoryType.TRENDING_WEEK, runStartedAt,
+                        "trending-sync");
+                log.info("Completed sync of {} trending movies week: {} written, {} unchanged",
+                        response.getResults().size(), saved.getWritten(), saved.getUnchanged());
             } catch (Exception e) {
                 log.error("Error syncing trending movies: ", e);
             }
@@ -290,48 +410,16 @@ public class TMDBService {
 
     @Async
     public CompletableFuture<String> syncPopularMovies() {
+        Instant runStartedAt = Instant.now();
         try {
             log.info("Started syncing popular movies");
             TMDBMovieResponse response = getPopularMovies(1);  // Get first page
+            List<Long> tmdbIds = response.getResults().stream()
+                    .map(TMDBMovieDTO::getId)
+                    .toList();
 
-            for (TMDBMovieDTO movieDTO : response.getResults()) {
-                try {
-                    // Get full movie details
-                    TMDBMovieDTO fullMovieDetails = getMovieDetails(movieDTO.getId());
-
-                    Movie movie = movieRepository.findByTmdbId(movieDTO.getId())
-                            .orElse(new Movie());
-
-                    updateMovieFromTMDB(movie, fullMovieDetails);
-
-                    // Update category
-                    MovieCategory category;
-                    if (CollectionUtils.isEmpty(movie.getCategories())) {
-                        category = new MovieCategory();
-                    } else {
-                        category = movie.getCategories().stream()
-                                .filter(mc -> Objects.equals(mc.getCategory(), CategoryType.POPULAR.name()))
-                                .findFirst()
-                                .orElse(new MovieCategory());
-                    }
-
-                    category.setMovie(movie);
-                    category.setCategory(CategoryType.POPULAR.name());
-                    category.setCreatedAt(ZonedDateTime.now());
-                    category.setUpdatedAt(ZonedDateTime.now());
-
-                    if (CollectionUtils.isEmpty(movie.getCategories())) {
-                        movie.setCategories(new HashSet<>(List.of(category)));
-                    } else {
-                        movie.getCategories().add(category);
-                    }
-
-                    movieRepository.save(movie);
-                    log.info("Saved/Updated popular movie: {}", movie.getTitle());
-                } catch (Exception e) {
-                    log.error("Error processing popular movie {}: ", movieDTO.getTitle(), e);
-                }
-            }
+            MovieWriteResult saved = saveCategoryPage(tmdbIds, CategoryType.POPULAR, runStartedAt, "popular-sync");
+            log.info("Saved/Updated {} popular movies, {} unchanged", saved.getWritten(), saved.getUnchanged());
 
             log.info("Completed syncing popular movies");
             return CompletableFuture.completedFuture("Popular movies sync completed successfully");
@@ -343,19 +431,22 @@ public class TMDBService {
 
     // Get movie videos (trailers)
     public TMDBVideoResponse getMovieVideos(Long movieId) {
-        String url = String.format("%s/movie/%d/videos?language=en-US", BASE_URL, movieId);
+        return responseCache.get(TMDBResponseCache.Region.MOVIE_VIDEOS, movieVideosUrl(movieId),
+                () -> fetchMovieVideos(movieId));
+    }
 
-        log.info("TMDB API Request - Get Movie Videos: {}", url);
-        ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-        log.info("TMDB API Response - Get Movie Videos: {}", response.getBody());
+    private TMDBVideoResponse fetchMovieVideos(Long movieId) {
+        return tmdbClient.get(movieVideosUrl(movieId), TMDBVideoResponse.class, "movie-videos");
+    }
 
-        return restTemplate.getForObject(url, TMDBVideoResponse.class);
+    private String movieVideosUrl(Long movieId) {
+        return String.format("%s/movie/%d/videos?language=en-US", BASE_URL, movieId);
     }
 
     // Get upcoming movies to find latest trailers
     public TMDBMovieResponse getUpcomingMovies() {
         String url = String.format("%s/movie/upcoming?language=en-US", BASE_URL);
-        return restTemplate.getForObject(url, TMDBMovieResponse.class);
+        return tmdbClient.get(url, TMDBMovieResponse.class, "upcoming");
     }
 
     @Async
@@ -369,10 +460,22 @@ public class TMDBService {
             int processedMovies = 0;
             int totalTrailers = 0;
 
+            // Get every movie's videos/trailers concurrently, then write them one movie at a time
+            Map<Long, TMDBVideoResponse> videosByMovie = new HashMap<>();
+            reactiveClient.fanOut(upcomingMovies.getResults(), movieDTO ->
+                    reactiveClient.get(movieVideosUrl(movieDTO.getId()), TMDBVideoResponse.class, "movie-videos")
+                            .onErrorResume(e -> {
+                                log.warn("Error getting videos for movie {}: {}", movieDTO.getId(), e.getMessage());
+                                return Mono.empty();
+                            })
+            ).forEach(videos -> videosByMovie.put(videos.getId(), videos));
+
             for (TMDBMovieDTO movieDTO : upcomingMovies.getResults()) {
                 try {
-                    // Get movie's videos/trailers
-                    TMDBVideoResponse videos = getMovieVideos(movieDTO.getId());
+                    TMDBVideoResponse videos = videosByMovie.get(movieDTO.getId());
+                    if (videos == null) {
+                        videos = fetchMovieVideos(movieDTO.getId());
+                    }
 
                     // Find or create movie
                     Movie movie = movieRepository.findByTmdbId(movieDTO.getId())
@@ -382,29 +485,7 @@ public class TMDBService {
                                 return movieRepository.save(newMovie);
                             });
 
-                    // Process each video
-                    for (TMDBVideoDTO video : videos.getResults()) {
-                        // Only process trailers
-                        if ("Trailer".equals(video.getType())) {
-                            MovieTrailer trailer = movieTrailerRepository
-                                    .findByTmdbId(video.getId())
-                                    .orElse(new MovieTrailer());
-
-                            trailer.setMovie(movie);
-                            trailer.setTmdbId(video.getId());
-                            trailer.setName(video.getName());
-                            trailer.setKey(video.getKey());
-                            trailer.setSite(video.getSite());
-                            trailer.setType(video.getType());
-                            trailer.setOfficial(video.getOfficial());
-                            if (video.getPublished_at() != null) {
-                                trailer.setPublishedAt(ZonedDateTime.parse(video.getPublished_at()).toLocalDateTime());
-                            }
-
-                            movieTrailerRepository.save(trailer);
-                            totalTrailers++;
-                        }
-                    }
+                    totalTrailers += upsertTrailers(movie, videos.getResults());
 
                     processedMovies++;
                     log.info("Progress: {}/{} movies processed, {} trailers found",
@@ -431,171 +512,100 @@ public class TMDBService {
         }
     }
 
-    private void saveOrUpdateMovieTrending(TMDBTrendingItemDTO item, CategoryType categoryType) {
-        try {
-            // Get full movie details from TMDB
-            TMDBMovieDTO movieDetails = getMovieDetails(item.getId());
-
-            // Find existing movie or create new one
-            Movie movie = movieRepository.findByTmdbId(item.getId())
-                    .orElse(new Movie());
-
-            // Update movie details
-            movie.setTmdbId(item.getId());
-            movie.setTitle(item.getTitle());
-            movie.setOriginalTitle(item.getOriginalTitle());
-            movie.setOverview(item.getOverview());
-            movie.setPopularity(item.getPopularity());
-            // TODO adult, video, media_type, profile_path, first_air_date
-
-            movie.setPosterPath(item.getPosterPath());
-            movie.setBackdropPath(item.getBackdropPath());
-
-            movie.setPosterUrl(getFullPosterPath(item.getPosterPath()));
-            movie.setBackdropUrl(getFullBackdropPath(item.getBackdropPath()));
-
-            movie.setVoteAverage(item.getVoteAverage());
-            movie.setVoteCount(item.getVoteCount());
-
-            if (item.getReleaseDate() != null) {
-                movie.setReleaseDate(LocalDate.parse(item.getReleaseDate()));
-            }
-
-            MovieCategory category;
-            if (CollectionUtils.isEmpty(movie.getCategories())) {
-                category = new MovieCategory();
-            } else {
-                category = movie.getCategories().stream()
-                        .filter(mc -> Objects.equals(mc.getCategory(), categoryType.name()))
-                        .findFirst()
-                        .orElse(new MovieCategory());
-            }
-
-            category.setMovie(movie);
-            category.setCategory(categoryType.name());
-            category.setCreatedAt(ZonedDateTime.now());
-            category.setUpdatedAt(ZonedDateTime.now());
-
-            if (CollectionUtils.isEmpty(movie.getCategories())) {
-                movie.setCategories(new HashSet<>(List.of(category)));
-            } else {
-                movie.getCategories().add(category);
-            }
-
-            // genre
-            Set<Genre> genres = new HashSet<>();
-            if (item.getGenreIds() != null) {
-                for (Integer genreId : item.getGenreIds()) {
-                    Genre genre = genreRepository.findByTmdbId(Long.valueOf(genreId))
-                            .orElseGet(() -> {
-                                // If genre doesn't exist, create it
-                                TMDBGenreDTO genreDetails = getGenreDetails(Long.valueOf(genreId));
-                                if (genreDetails != null) {
-                                    Genre newGenre = Genre.builder()
-                                            .tmdbId(genreDetails.getId())
-                                            .name(genreDetails.getName())
-                                            .build();
-                                    return genreRepository.save(newGenre);
-                                }
-                                return null;
-                            });
-
-                    if (genre != null) {
-                        genres.add(genre);
-                    }
+    private int upsertTrailers(Movie movie, List<TMDBVideoDTO> videos) {
+        int count = 0;
+        for (TMDBVideoDTO video : videos) {
+            // Only process trailers
+            if ("Trailer".equals(video.getType())) {
+                MovieTrailer trailer = movieTrailerRepository
+                        .findByTmdbId(video.getId())
+                        .orElse(new MovieTrailer());
+
+                trailer.setMovie(movie);
+                trailer.setTmdbId(video.getId());
+                trailer.setName(video.getName());
+                trailer.setKey(video.getKey());
+                trailer.setSite(video.getSite());
+                trailer.setType(video.getType());
+                trailer.setOfficial(video.getOfficial());
+                if (video.getPublished_at() != null) {
+                    trailer.setPublishedAt(ZonedDateTime.parse(video.getPublished_at()).toLocalDateTime());
                 }
-            }
-            movie.setGenres(genres);
-
-            // New fields
-            movie.setAdult(movieDetails.getAdult());
-
-            if (movieDetails.getBelongs_to_collection() != null) {
-                MovieCollection collection = new MovieCollection();
-                collection.setId(movieDetails.getBelongs_to_collection().getId());
-                collection.setName(movieDetails.getBelongs_to_collection().getName());
-                collection.setPosterPath(movieDetails.getBelongs_to_collection().getPoster_path());
-                collection.setBackdropPath(movieDetails.getBelongs_to_collection().getBackdrop_path());
-                movie.setCollection(collection);
-            }
 
-            movie.setBudget(movieDetails.getBudget());
-            movie.setHomepage(movieDetails.getHomepage());
-            movie.setImdbId(movieDetails.getImdbId());
-            movie.setOriginalLanguage(movieDetails.getOriginalLanguage());
-            movie.setRevenue(movieDetails.getRevenue());
-            movie.setStatus(movieDetails.getStatus());
-            movie.setTagline(movieDetails.getTagline());
-
-            if (movieDetails.getReleaseDate() != null) {
-                movie.setReleaseDate(LocalDate.parse(movieDetails.getReleaseDate()));
-            }
-
-            // Origin countries
-            if (movieDetails.getOriginCountry() != null) {
-                movie.setOriginCountries(new HashSet<>(movieDetails.getOriginCountry()));
+                movieTrailerRepository.save(trailer);
+                count++;
             }
+        }
+        return count;
+    }
 
-            // Production companies
-            if (movieDetails.getProduction_companies() != null) {
-                Set<MovieProductionCompany> companies = movieDetails.getProduction_companies().stream()
-                        .map(companyDTO -> {
-                            MovieProductionCompany company = new MovieProductionCompany();
-                            company.setTmdbId(companyDTO.getId());
-                            company.setName(companyDTO.getName());
-                            company.setLogoPath(companyDTO.getLogo_path());
-                            company.setOriginCountry(companyDTO.getOrigin_country());
-                            company.setMovie(movie);
-                            return company;
-                        })
-                        .collect(Collectors.toSet());
-                movie.setProductionCompanies(companies);
+    /**
+     * Writes one TMDB result page with a handful of set-based statements (see {@link MovieBatchWriter}) and
+     * publishes it, in TMDB's order, as the new snapshot of the category (see {@link CategorySnapshotWriter})
+     * unless a run started after {@code runStartedAt} has published already.
+     * Details that failed to prefetch with a retryable error are fetched once more one by one. Movies that still
+     * have no details are left out of the page and dead-lettered under {@code source}, so they heal on retry.
+     */
+    private MovieWriteResult saveCategoryPage(List<Long> tmdbIds, CategoryType categoryType, Instant runStartedAt,
+                                              String source) {
+        Map<Long, Throwable> prefetchFailures = new ConcurrentHashMap<>();
+        Map<Long, TMDBMovieDTO> details = getMovieDetailsByIds(tmdbIds, prefetchFailures::put);
+
+        List<Movie> movies = new ArrayList<>();
+        for (Long tmdbId : tmdbIds) {
+            try {
+                Throwable prefetchFailure = prefetchFailures.get(tmdbId);
+                if (prefetchFailure != null && !SyncDeadLetterService.isRetryable(prefetchFailure)) {
+                    // A removed title answers 404 again, no point in asking twice
+                    recordCategoryFailure(tmdbId, source, prefetchFailure);
+                    continue;
+                }
+                TMDBMovieDTO movieDetails = details.containsKey(tmdbId)
+                        ? details.get(tmdbId)
+                        : fetchMovieDetails(tmdbId);
+                movies.add(toMovie(movieDetails));
+            } catch (Exception e) {
+                log.error("Error preparing movie {} for {}: ", tmdbId, categoryType, e);
+                recordCategoryFailure(tmdbId, source, e);
             }
+        }
 
-            // Production countries
-            if (movieDetails.getProduction_countries() != null) {
-                Set<ProductionCountry> countries = movieDetails.getProduction_countries().stream()
-                        .map(countryDTO -> {
-                            ProductionCountry country = new ProductionCountry();
-                            country.setIso31661(countryDTO.getIso_3166_1());
-                            country.setName(countryDTO.getName());
-                            return country;
-                        })
-                        .collect(Collectors.toSet());
-                movie.setProductionCountries(countries);
-            }
+        MovieWriteResult result = movieBatchWriter.upsertMovies(movies, categoryType.name());
+        categorySnapshotWriter.publish(categoryType.name(), tmdbIds.stream()
+                .map(result.getMovieIds()::get)
+                .toList(), runStartedAt);
+        return result;
+    }
 
-            // Spoken languages
-            if (movieDetails.getSpoken_languages() != null) {
-                Set<SpokenLanguage> languages = movieDetails.getSpoken_languages().stream()
-                        .map(langDTO -> {
-                            SpokenLanguage language = new SpokenLanguage();
-                            language.setEnglishName(langDTO.getEnglish_name());
-                            language.setIso6391(langDTO.getIso_639_1());
-                            language.setName(langDTO.getName());
-                            return language;
-                        })
-                        .collect(Collectors.toSet());
-                movie.setSpokenLanguages(languages);
-            }
+    private void recordCategoryFailure(Long tmdbId, String source, Throwable error) {
+        deadLetterService.record(SyncJobType.MOVIES_FULL, new CatalogItemDTO(null, tmdbId, null), source, error);
+    }
 
-            // Save to database
-            movieRepository.save(movie);
-            log.info("Saved/Updated movie: {}", movie.getTitle());
-        } catch (Exception e) {
-            log.error("Error saving movie {}: ", item.getTitle(), e);
+    // Unsaved movie in the shape MovieBatchWriter expects; genres only carry their TMDB id and name
+    private Movie toMovie(TMDBMovieDTO details) {
+        Movie movie = new Movie();
+        updateMovieFromTMDB(movie, details);
+        if (details.getGenres() != null) {
+            movie.setGenres(details.getGenres().stream()
+                    .map(genreDTO -> Genre.builder()
+                            .tmdbId(genreDTO.getId())
+                            .name(genreDTO.getName())
+                            .build())
+                    .collect(Collectors.toSet()));
         }
+        return movie;
     }
 
     /*SYNC SCHEDULED*/
+    // Replicas share the schedule; the lease makes only one of them run it
     @Scheduled(cron = "0 0 */4 * * *") // Every 4 hours
     public void scheduledTrendingSync() {
-        syncTrendingMovies();
+        leaseService.runExclusive("tmdb-trending-sync", SchedulerLeaseService.CRON_MIN_HOLD, this::syncTrendingMovies);
     }
 
     @Scheduled(cron = "0 0 1 * * *") // Once a day at 1 AM
     public void scheduledPopularSync() {
-        syncPopularMovies();
+        leaseService.runExclusive("tmdb-popular-sync", SchedulerLeaseService.CRON_MIN_HOLD, this::syncPopularMovies);
     }
 
     private void updateMovieFromTMDB(Movie movie, TMDBMovieDTO tmdbMovie) {
@@ -631,10 +641,14 @@ public class TMDBService {
         movie.setImdbId(tmdbMovie.getImdbId());
         movie.setOriginalLanguage(tmdbMovie.getOriginalLanguage());
         movie.setRevenue(tmdbMovie.getRevenue());
-        movie.setRuntime(Float.valueOf(tmdbMovie.getRuntime()));
+        movie.setRuntime(tmdbMovie.getRuntime() != null ? Float.valueOf(tmdbMovie.getRuntime()) : null);
         movie.setStatus(tmdbMovie.getStatus());
         movie.setTagline(tmdbMovie.getTagline());
 
+        if (tmdbMovie.getOriginCountry() != null) {
+            movie.setOriginCountries(new HashSet<>(tmdbMovie.getOriginCountry()));
+        }
+
         // Set production companies
         if (tmdbMovie.getProduction_companies() != null) {
             Set<MovieProductionCompany> companies = tmdbMovie.getProduction_companies().stream()
@@ -683,16 +697,12 @@ public class TMDBService {
     public TMDBCreditsResponse getMovieCredits(Long movieId) {
         String url = String.format("%s/movie/%d/credits?language=en-US", BASE_URL, movieId);
 
-        log.info("TMDB API Request - Get Movie Credits: {}", url);
-        ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-        log.info("TMDB API Response: {}", response.getBody());
-
-        return restTemplate.getForObject(url, TMDBCreditsResponse.class);
+        return responseCache.get(TMDBResponseCache.Region.MOVIE_CREDITS, url,
+                () -> tmdbClient.get(url, TMDBCreditsResponse.class, "movie-credits"));
     }
 
     /*Sync movie cast*/
     @Async
-    @Transactional
     public CompletableFuture<String> syncMovieCasts(Long movieId) {
         try {
             log.info("Started syncing cast for movie ID: {}", movieId);
@@ -700,34 +710,7 @@ public class TMDBService {
             Movie movie = movieRepository.findByTmdbId(movieId)
                     .orElseThrow(() -> new ResourceNotFoundException("Movie not found", "", "", ""));
 
-            TMDBCreditsResponse credits = getMovieCredits(movieId);
-
-            for (TMDBCastDTO castDTO : credits.getCast()) {
-                // Find or create cast
-                Cast cast = castRepository.findByTmdbId(castDTO.getId())
-                        .orElseGet(() -> {
-                            Cast newCast = Cast.builder()
-                                    .tmdbId(castDTO.getId())
-                                    .name(castDTO.getName())
-                                    .profilePath(castDTO.getProfile_path())
-                                    .build();
-                            return castRepository.save(newCast);
-                        });
-
-                // Create movie cast relationship if it doesn't exist
-                MovieCastId movieCastId = new MovieCastId(movie.getId(), cast.getId(), castDTO.getCharacter());
-
-                if (!movieCastRepository.existsById(movieCastId)) {
-                    MovieCast movieCast = MovieCast.builder()
-                            .id(movieCastId)
-                            .movie(movie)
-                            .cast(cast)
-                            .role(castDTO.getKnown_for_department())
-                            .build();
-
-                    movieCastRepository.save(movieCast);
-                }
-            }
+            streamMovieCasts(movie);
 
             log.info("Completed syncing cast for movie ID: {}", movieId);
             return CompletableFuture.completedFuture("Cast sync completed successfully");
@@ -737,7 +720,6 @@ public class TMDBService {
         }
     }
 
-    @Transactional
     public void syncMovieCast(Movie movie) {
         log.info("Syncing cast for movie: {} (ID: {})", movie.getTitle(), movie.getId());
 
@@ -746,100 +728,96 @@ public class TMDBService {
             return;
         }
 
-        TMDBCreditsResponse credits = getMovieCredits(movie.getTmdbId());
+        streamMovieCasts(movie);
+    }
 
-        for (TMDBCastDTO castDTO : credits.getCast()) {
-            try {
-                // Find or create cast
-                Cast cast = castRepository.findByTmdbId(castDTO.getId())
-                        .orElseGet(() -> {
-                            Cast newCast = Cast.builder()
-                                    .tmdbId(castDTO.getId())
-                                    .name(castDTO.getName())
-                                    .profilePath(castDTO.getProfile_path())
-                                    .build();
-                            return castRepository.save(newCast);
-                        });
-
-                // Create movie cast relationship
-                MovieCastId movieCastId = new MovieCastId(movie.getId(), cast.getId(), castDTO.getCharacter());
-
-                if (!movieCastRepository.existsById(movieCastId)) {
-                    MovieCast movieCast = MovieCast.builder()
-                            .id(movieCastId)
-                            .movie(movie)
-                            .cast(cast)
-                            .role(castDTO.getKnown_for_department())
-                            .build();
-
-                    movieCastRepository.save(movieCast);
-                }
-            } catch (Exception e) {
-                log.error("Error processing cast member {} for movie {}: ",
-                        castDTO.getName(), movie.getTitle(), e);
-            }
-        }
+    // Cast lists of long-running franchises can be huge, so they are upserted chunk by chunk as they are parsed.
+    // There is no surrounding transaction: each chunk commits on its own
+    private void streamMovieCasts(Movie movie) {
+        String url = String.format("%s/movie/%d/credits?language=en-US", BASE_URL, movie.getTmdbId());
+
+        tmdbClient.stream(url, "movie-credits", TMDBJsonStream.of(null)
+                .array("cast", TMDBCastDTO.class, chunk -> upsertMovieCasts(movie, chunk)));
     }
 
-    @Async
-    @Transactional
-    public CompletableFuture<String> syncAllMovieCasts() {
+    private void upsertMovieCasts(Movie movie, List<TMDBCastDTO> castList) {
+        if (castList == null) {
+            return;
+        }
+
         try {
-            log.info("Started batch sync of movie casts");
+            castCreditWriter.writeMovieCasts(movie.getId(), castList);
+        } catch (Exception e) {
+            log.error("Error writing {} cast members for movie {}: ", castList.size(), movie.getTitle(), e);
+            throw e;
+        }
+    }
 
-            // Get all movies that need cast sync
-            List<Movie> movies = movieRepository.findAll();
-            int totalMovies = movies.size();
-            int processedMovies = 0;
-            List<String> errors = new ArrayList<>();
-
-            // Process movies in batches
-            for (int i = 0; i < movies.size(); i += BATCH_SIZE) {
-                int endIndex = Math.min(i + BATCH_SIZE, movies.size());
-                List<Movie> batch = movies.subList(i, endIndex);
-
-                // Process each movie in the batch
-                for (Movie movie : batch) {
-                    try {
-                        syncMovieCast(movie);
-                        processedMovies++;
-                        log.info("Progress: {}/{} movies processed", processedMovies, totalMovies);
-                    } catch (Exception e) {
-                        String error = String.format("Error syncing cast for movie %s (ID: %d): %s",
-                                movie.getTitle(), movie.getId(), e.getMessage());
-                        errors.add(error);
-                        log.error(error, e);
-                    }
-                }
+    /**
+     * Syncs a movie with its cast, trailers and reviews from a single append_to_response call.
+     * Only review pages after the first need extra requests.
+     */
+    public Movie syncMovie(Long tmdbId) {
+        TMDBMovieFullDTO details = getMovieWithAppends(tmdbId);
+        if (details == null) {
+            throw new ResourceNotFoundException("Movie not found", "", "", "");
+        }
 
-                // Add delay between batches to avoid rate limiting
-                Thread.sleep(1000); // 1 second delay
-            }
+        // Unchanged movies are skipped by content hash; the credits, videos and reviews below are checked on their own
+        Movie movie = toMovie(details);
+        MovieWriteResult written = movieBatchWriter.upsertMovies(List.of(movie), null);
+        movie.setId(written.getMovieIds().get(tmdbId));
+
+        if (details.getCredits() != null) {
+            transactionTemplate.executeWithoutResult(status ->
+                    upsertMovieCasts(movie, details.getCredits().getCast()));
+        }
 
-            // Prepare completion message
-            String result = String.format("Completed syncing casts for %d movies. ", processedMovies);
-            if (!errors.isEmpty()) {
-                result += String.format("Errors occurred for %d movies.", errors.size());
+        int trailers = 0;
+        if (details.getVideos() != null && details.getVideos().getResults() != null) {
+            List<TMDBVideoDTO> videos = details.getVideos().getResults();
+            trailers = metrics.timeWrite("trailers", videos.size(), () -> transactionTemplate.execute(status ->
+                    upsertTrailers(movie, videos)));
+        }
+
+        int reviews = 0;
+        TMDBReviewResponse reviewPage = details.getReviews();
+        if (reviewPage != null && reviewPage.getResults() != null) {
+            reviews += upsertReviews(movie, reviewPage.getResults());
+
+            int totalPages = reviewPage.getTotalPages() != null ? reviewPage.getTotalPages() : 1;
+            for (int page = 2; page <= totalPages; page++) {
+                reviews += upsertReviews(movie, fetchMovieReviews(tmdbId, page).getResults());
             }
+        }
 
-            log.info(result);
-            return CompletableFuture.completedFuture(result);
+        log.info("Synced movie {} (TMDB ID: {}, {}) with {} trailers and {} reviews",
+                movie.getTitle(), tmdbId, written.getWritten() > 0 ? "written" : "unchanged", trailers, reviews);
+        return movie;
+    }
 
+    @Async
+    public CompletableFuture<String> syncMovieFull(Long tmdbId) {
+        try {
+            Movie movie = syncMovie(tmdbId);
+            return CompletableFuture.completedFuture("Synced movie " + movie.getTitle());
         } catch (Exception e) {
-            log.error("Error in batch sync process: ", e);
-            return CompletableFuture.completedFuture("Error in batch sync: " + e.getMessage());
+            log.error("Error syncing movie {}: ", tmdbId, e);
+            return CompletableFuture.completedFuture("Error syncing movie: " + e.getMessage());
         }
     }
 
     // Get all genres from TMDB
     public TMDBGenreResponse getGenres() {
-        String url = String.format("%s/genre/movie/list?language=en-US", BASE_URL);
+        return responseCache.get(TMDBResponseCache.Region.GENRES, genresUrl(), this::fetchGenres);
+    }
 
-        log.info("TMDB API Request - Get Genres: {}", url);
-        ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-        log.info("TMDB API Response: {}", response.getBody());
+    private TMDBGenreResponse fetchGenres() {
+        return tmdbClient.get(genresUrl(), TMDBGenreResponse.class, "genres");
+    }
 
-        return restTemplate.getForObject(url, TMDBGenreResponse.class);
+    private String genresUrl() {
+        return String.format("%s/genre/movie/list?language=en-US", BASE_URL);
     }
 
     @Async
@@ -847,7 +825,7 @@ public class TMDBService {
     public CompletableFuture<String> syncGenres() {
         try {
             log.info("Started syncing genres");
-            TMDBGenreResponse genreResponse = getGenres();
+            TMDBGenreResponse genreResponse = fetchGenres();
             int count = 0;
 
             for (TMDBGenreDTO genreDTO : genreResponse.getGenres()) {
@@ -867,6 +845,8 @@ public class TMDBService {
                 }
             }
 
+            genreDictionary.reload();
+
             String message = String.format("Successfully synced %d genres", count);
             log.info(message);
             return CompletableFuture.completedFuture(message);
@@ -877,30 +857,21 @@ public class TMDBService {
         }
     }
 
-    private TMDBGenreDTO getGenreDetails(Long genreId) {
-        try {
-            String url = String.format("%s/genre/%d?language=en-US", BASE_URL, genreId);
-            return restTemplate.getForObject(url, TMDBGenreDTO.class);
-        } catch (Exception e) {
-            log.error("Error getting genre details for ID {}: ", genreId, e);
-            return null;
-        }
-    }
-
     // Review
     public TMDBReviewResponse getMovieReviews(Long movieId, int page) {
-        String url = String.format("%s/movie/%d/reviews?language=en-US&page=%d",
-                BASE_URL, movieId, page);
+        return responseCache.get(TMDBResponseCache.Region.MOVIE_REVIEWS, movieReviewsUrl(movieId, page),
+                () -> fetchMovieReviews(movieId, page));
+    }
 
-        log.info("TMDB API Request - Get Movie Reviews: {}", url);
-        ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-        log.info("TMDB API Response: {}", response.getBody());
+    private TMDBReviewResponse fetchMovieReviews(Long movieId, int page) {
+        return tmdbClient.get(movieReviewsUrl(movieId, page), TMDBReviewResponse.class, "movie-reviews");
+    }
 
-        return restTemplate.getForObject(url, TMDBReviewResponse.class);
+    private String movieReviewsUrl(Long movieId, int page) {
+        return String.format("%s/movie/%d/reviews?language=en-US&page=%d", BASE_URL, movieId, page);
     }
 
     @Async
-    @Transactional
     public CompletableFuture<String> syncMovieReviews(Long movieId) {
         try {
             log.info("Started syncing reviews for movie ID: {}", movieId);
@@ -908,52 +879,7 @@ public class TMDBService {
             Movie movie = movieRepository.findByTmdbId(movieId)
                     .orElseThrow(() -> new ResourceNotFoundException("Movie not found", "", "", ""));
 
-            int page = 1;
-            int totalPages;
-            int processedReviews = 0;
-
-            do {
-                TMDBReviewResponse reviewResponse = getMovieReviews(movieId, page);
-                totalPages = reviewResponse.getTotalPages();
-
-                for (TMDBReviewDTO reviewDTO : reviewResponse.getResults()) {
-                    try {
-                        // Find or create review
-                        Review review = reviewRepository
-                                .findByTmdbId(reviewDTO.getId())
-                                .orElse(new Review());
-
-                        // Create system user for TMDB reviews if not exists
-                        User systemUser = userRepository
-                                .findByEmail("tmdb_" + reviewDTO.getAuthor() + "@system.local")
-                                .orElseGet(() -> {
-                                    User newUser = User.builder()
-                                            .email("tmdb_" + reviewDTO.getAuthor() + "@system.local")
-                                            .fullName(reviewDTO.getAuthor())
-                                            .provider("TMDB")
-                                            .build();
-                                    return userRepository.save(newUser);
-                                });
-
-                        // Update review
-                        review.setTmdbId(reviewDTO.getId());
-                        review.setMovie(movie);
-                        review.setUser(systemUser);
-                        review.setContent(reviewDTO.getContent());
-                        review.setRating(reviewDTO.getAuthorDetails().getRating());
-                        review.setCreatedAt(ZonedDateTime.parse(reviewDTO.getCreatedAt()));
-
-                        reviewRepository.save(review);
-                        processedReviews++;
-
-                    } catch (Exception e) {
-                        log.error("Error processing review from {}: ",
-                                reviewDTO.getAuthor(), e);
-                    }
-                }
-
-                page++;
-            } while (page <= totalPages);
+            int processedReviews = syncReviewsForMovie(movie);
 
             String message = String.format("Successfully synced %d reviews for movie %s",
                     processedReviews, movie.getTitle());
@@ -968,107 +894,15 @@ public class TMDBService {
     }
 
 
-    @Async
-    public CompletableFuture<String> syncAllMovieReviews() {
-        try {
-            log.info("Started syncing reviews for all movies");
-
-            List<Movie> movies = movieRepository.findAll();
-            int totalMovies = movies.size();
-            int processedMovies = 0;
-            int totalReviews = 0;
-            List<String> errors = new ArrayList<>();
-
-            // Process movies in batches
-            for (int i = 0; i < movies.size(); i += BATCH_SIZE) {
-                int endIndex = Math.min(i + BATCH_SIZE, movies.size());
-                List<Movie> batch = movies.subList(i, endIndex);
-
-                for (Movie movie : batch) {
-                    try {
-                        if (movie.getTmdbId() != null) {
-                            int reviewCount = syncReviewsForMovie(movie);
-                            totalReviews += reviewCount;
-                            processedMovies++;
-                            log.info("Progress: {}/{} movies processed, {} reviews synced",
-                                    processedMovies, totalMovies, totalReviews);
-                        }
-                    } catch (Exception e) {
-                        String error = String.format("Error syncing reviews for movie %s (ID: %d): %s",
-                                movie.getTitle(), movie.getId(), e.getMessage());
-                        errors.add(error);
-                        log.error(error, e);
-                    }
-                }
-
-                // Add delay between batches to avoid rate limiting
-                Thread.sleep(1000); // 1 second delay
-            }
-
-            String result = String.format(
-                    "Completed syncing %d reviews across %d/%d movies. ",
-                    totalReviews, processedMovies, totalMovies
-            );
-            if (!errors.isEmpty()) {
-                result += String.format("Errors occurred for %d movies.", errors.size());
-            }
-
-            log.info(result);
-            return CompletableFuture.completedFuture(result);
-
-        } catch (Exception e) {
-            log.error("Error in batch sync process: ", e);
-            return CompletableFuture.completedFuture("Error in batch sync: " + e.getMessage());
-        }
-    }
-
-    private int syncReviewsForMovie(Movie movie) {
+    public int syncReviewsForMovie(Movie movie) {
         int processedReviews = 0;
         int page = 1;
         int totalPages;
 
         do {
-            TMDBReviewResponse reviewResponse = getMovieReviews(movie.getTmdbId(), page);
+            TMDBReviewResponse reviewResponse = fetchMovieReviews(movie.getTmdbId(), page);
             totalPages = reviewResponse.getTotalPages();
-
-            // Process each review
-            for (TMDBReviewDTO reviewDTO : reviewResponse.getResults()) {
-                try {
-                    String username = reviewDTO.getAuthorDetails().getUsername();
-
-                    // Create or get system user
-                    User systemUser = systemUserService.getOrCreateSystemUser(username, reviewDTO.getAuthor());
-
-                    // Create review in separate transaction
-                    transactionTemplate.execute(status -> {
-                        try {
-                            Review review = reviewRepository.findByTmdbId(reviewDTO.getId())
-                                    .orElse(new Review());
-
-                            review.setTmdbId(reviewDTO.getId());
-                            review.setMovie(movie);
-                            review.setUser(systemUser);
-                            review.setContent(reviewDTO.getContent());
-                            review.setRating(reviewDTO.getAuthorDetails().getRating());
-
-                            if (reviewDTO.getCreatedAt() != null) {
-                                review.setCreatedAt(ZonedDateTime.parse(reviewDTO.getCreatedAt()));
-                            }
-
-                            reviewRepository.save(review);
-                            return null;
-                        } catch (Exception e) {
-                            status.setRollbackOnly();
-                            throw e;
-                        }
-                    });
-
-                    processedReviews++;
-                } catch (Exception e) {
-                    log.error("Error processing review for movie {}: {}",
-                            movie.getTitle(), e.getMessage(), e);
-                }
-            }
+            processedReviews += upsertReviews(movie, reviewResponse.getResults());
 
             page++;
         } while (page <= totalPages);
@@ -1076,135 +910,109 @@ public class TMDBService {
         return processedReviews;
     }
 
+    private int upsertReviews(Movie movie, List<TMDBReviewDTO> reviews) {
+        ReviewWriteResult result = reviewBatchWriter.writeReviews(movie.getId(), reviews);
+
+        for (String error : result.getErrors()) {
+            log.error("Error processing review for movie {}: {}", movie.getTitle(), error);
+        }
+        log.debug("Reviews for movie {}: {} written, {} unchanged, {} failed",
+                movie.getTitle(), result.getWritten(), result.getUnchanged(), result.getErrors().size());
+        return result.getWritten() + result.getUnchanged();
+    }
+
     public TMDBPersonDTO getCastDetails(Long castId) {
         String url = String.format("%s/person/%d?append_to_response=movie_credits&language=en-US",
                 BASE_URL, castId);
 
-        log.info("TMDB API Request - Get Cast Details: {}", url);
-        ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-        log.info("TMDB API Response: {}", response.getBody());
-
-        return restTemplate.getForObject(url, TMDBPersonDTO.class);
+        return responseCache.get(TMDBResponseCache.Region.CAST_DETAILS, url,
+                () -> tmdbClient.get(url, TMDBPersonDTO.class, "cast-details"));
     }
 
 
-    @Async
-    public CompletableFuture<String> syncAllCastDetails() {
+    /**
+     * Streams a person with their movie credits. Not transactional on purpose: the cast row and every
+     * credit chunk commit separately, so a person with thousands of credits never holds one long transaction.
+     */
+    public void syncCastDetails(Long tmdbId) {
+        String url = String.format("%s/person/%d?append_to_response=movie_credits&language=en-US",
+                BASE_URL, tmdbId);
         try {
-            log.info("Started syncing all cast details");
-
-            List<Cast> casts = castRepository.findAll();
-            int totalCasts = casts.size();
-            int processedCasts = 0;
-            List<String> errors = new ArrayList<>();
-
-            // Process casts in batches to avoid memory issues
-            for (int i = 0; i < casts.size(); i += BATCH_SIZE) {
-                int endIndex = Math.min(i + BATCH_SIZE, casts.size());
-                List<Cast> batch = casts.subList(i, endIndex);
-
-                for (Cast cast : batch) {
-                    try {
-                        if (cast.getTmdbId() != null) {
-                            syncCastDetails(cast.getTmdbId());
-                            processedCasts++;
-                            log.info("Progress: {}/{} casts processed", processedCasts, totalCasts);
-                        }
-                    } catch (Exception e) {
-                        String error = String.format("Error syncing cast %s (ID: %d): %s",
-                                cast.getName(), cast.getId(), e.getMessage());
-                        errors.add(error);
-                        log.error(error, e);
-                    }
-                }
-
-                // Add delay between batches to avoid rate limiting
-                Thread.sleep(1000); // 1 second delay
-            }
-
-            String result = String.format(
-                    "Completed syncing %d/%d casts. ",
-                    processedCasts, totalCasts
-            );
-            if (!errors.isEmpty()) {
-                result += String.format("Errors occurred for %d casts.", errors.size());
-            }
-
-            log.info(result);
-            return CompletableFuture.completedFuture(result);
-
+            // Person fields arrive before movie_credits, so the cast row exists before its credits are written
+            Cast[] cast = new Cast[1];
+            tmdbClient.stream(url, "cast-details", TMDBJsonStream.of(TMDBPersonDTO.class)
+                    .onHeader(personDTO -> cast[0] = saveCastDetails(personDTO))
+                    .array("movie_credits.cast", TMDBPersonCastDTO.class, chunk ->
+                            writeCreditChunk(chunk.size(), () -> processCastCredits(cast[0], chunk)))
+                    .array("movie_credits.crew", TMDBPersonCrewDTO.class, chunk ->
+                            writeCreditChunk(chunk.size(), () -> processCrewCredits(cast[0], chunk))));
+
+            log.info("Successfully synced cast details for: {}", cast[0].getName());
         } catch (Exception e) {
-            log.error("Error in batch sync process: ", e);
-            return CompletableFuture.completedFuture("Error in batch sync: " + e.getMessage());
+            log.error("Error syncing cast details for TMDB ID {}: {}", tmdbId, e.getMessage(), e);
+            throw e;
         }
     }
 
-    @Transactional
-    public void syncCastDetails(Long tmdbId) {
-        try {
-            TMDBPersonDTO personDTO = getCastDetails(tmdbId);
-
-            Cast cast = castRepository.findByTmdbId(personDTO.getId())
-                    .orElse(new Cast());
-
-            // Update cast details
-            cast.setTmdbId(personDTO.getId());
-            cast.setName(personDTO.getName());
-            cast.setProfilePath(personDTO.getProfilePath());
-            cast.setBiography(personDTO.getBiography());
-
-            // Safely parse birth date
-            try {
-                if (personDTO.getBirthDate() != null && !personDTO.getBirthDate().isEmpty()) {
-                    cast.setBirthDate(LocalDate.parse(personDTO.getBirthDate()));
-                }
-            } catch (Exception e) {
-                log.warn("Failed to parse birth date for cast {}: {}", personDTO.getName(), e.getMessage());
-            }
+    // Clearing drops the movies and links loaded for this chunk, so the persistence context stays chunk-sized
+    private void writeCreditChunk(int size, Runnable write) {
+        metrics.timeWrite("person-credits", size, () -> transactionTemplate.executeWithoutResult(status -> {
+            write.run();
+            entityManager.flush();
+            entityManager.clear();
+        }));
+    }
 
-            cast.setPlaceOfBirth(personDTO.getPlaceOfBirth());
-            cast.setKnownForDepartment(personDTO.getKnownForDepartment());
-            cast.setPopularity(personDTO.getPopularity());
-            cast.setGender(personDTO.getGender() != null ? personDTO.getGender().toString() : null);
-            cast.setImdbId(personDTO.getImdbId());
+    private Cast saveCastDetails(TMDBPersonDTO personDTO) {
+        Cast cast = castRepository.findByTmdbId(personDTO.getId())
+                .orElse(new Cast());
+
+        // Popularity moves on every sync, so like MovieBatchWriter it stays out of the hash and is always written
+        String contentHash = ContentHash.of(personDTO.getName(), personDTO.getProfilePath(),
+                personDTO.getBiography(), personDTO.getBirthDate(), personDTO.getPlaceOfBirth(),
+                personDTO.getKnownForDepartment(), personDTO.getGender(), personDTO.getImdbId());
+        if (contentHash.equals(cast.getContentHash())) {
+            log.debug("Cast {} unchanged, updating popularity only", personDTO.getName());
+            castRepository.markSynced(cast.getId(), personDTO.getPopularity(), ZonedDateTime.now());
+            return cast;
+        }
+        cast.setContentHash(contentHash);
+        cast.setSyncedAt(ZonedDateTime.now());
 
-            cast = castRepository.save(cast);
+        // Update cast details
+        cast.setTmdbId(personDTO.getId());
+        cast.setName(personDTO.getName());
+        cast.setProfilePath(personDTO.getProfilePath());
+        cast.setBiography(personDTO.getBiography());
 
-            // Process movie credits
-            if (personDTO.getMovieCredits() != null) {
-                processMovieCredits(cast, personDTO.getMovieCredits());
+        // Safely parse birth date
+        try {
+            if (personDTO.getBirthDate() != null && !personDTO.getBirthDate().isEmpty()) {
+                cast.setBirthDate(LocalDate.parse(personDTO.getBirthDate()));
             }
-
-            log.info("Successfully synced cast details for: {}", cast.getName());
         } catch (Exception e) {
-            log.error("Error syncing cast details for TMDB ID {}: {}", tmdbId, e.getMessage(), e);
-            throw e;
+            log.warn("Failed to parse birth date for cast {}: {}", personDTO.getName(), e.getMessage());
         }
+
+        cast.setPlaceOfBirth(personDTO.getPlaceOfBirth());
+        cast.setKnownForDepartment(personDTO.getKnownForDepartment());
+        cast.setPopularity(personDTO.getPopularity());
+        cast.setGender(personDTO.getGender() != null ? personDTO.getGender().toString() : null);
+        cast.setImdbId(personDTO.getImdbId());
+
+        return castRepository.save(cast);
     }
 
-    private void processMovieCredits(Cast cast, TMDBPersonCreditsDTO credits) {
-        // Process acting credits
-        if (credits.getCast() != null) {
-            for (TMDBPersonCastDTO creditDTO : credits.getCast()) {
-                try {
-                    processMovieCastCredit(cast, creditDTO);
-                } catch (Exception e) {
-                    log.error("Error processing cast credit for {} in movie {}: {}",
-                            cast.getName(), creditDTO.getTitle(), e.getMessage(), e);
-                }
-            }
+    // A failing credit rolls back its chunk and fails the sync, so the person is dead-lettered and retried
+    private void processCastCredits(Cast cast, List<TMDBPersonCastDTO> credits) {
+        for (TMDBPersonCastDTO creditDTO : credits) {
+            processMovieCastCredit(cast, creditDTO);
         }
+    }
 
-        // Process crew credits
-        if (credits.getCrew() != null) {
-            for (TMDBPersonCrewDTO crewDTO : credits.getCrew()) {
-                try {
-                    processMovieCrewCredit(cast, crewDTO);
-                } catch (Exception e) {
-                    log.error("Error processing crew credit for {} in movie {}: {}",
-                            cast.getName(), crewDTO.getTitle(), e.getMessage(), e);
-                }
-            }
+    private void processCrewCredits(Cast cast, List<TMDBPersonCrewDTO> credits) {
+        for (TMDBPersonCrewDTO crewDTO : credits) {
+            processMovieCrewCredit(cast, crewDTO);
         }
     }
 
@@ -1284,6 +1092,7 @@ public class TMDBService {
         } catch (Exception e) {
             log.error("Error processing crew credit for cast {} in movie {}: ",
                     cast.getName(), crewDTO.getTitle(), e);
+            throw e;
         }
     }
 }
\ No newline at end of file
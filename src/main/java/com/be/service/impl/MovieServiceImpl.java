@@ -97,7 +97,12 @@ public class MovieServiceImpl implements MovieService {
         User currentUser = userId != null ?
                 userRepository.findById(userId).orElse(null) : null;
 
-        return toMovieDTOPage(movieRepository.findMovieByCategory(category, pageable), currentUser);
+        // Categories without a published snapshot yet fall back to every movie ever tagged, by popularity
+        Page<Movie> movies = movieRepository.findMovieByCategorySnapshot(category, pageable);
+        if (movies.getTotalElements() == 0) {
+            movies = movieRepository.findMovieByCategory(category, pageable);
+        }
+        return toMovieDTOPage(movies, currentUser);
     }
 
     @Transactional(readOnly = true)
@@ -622,4 +622,103 @@ CREATE INDEX idx_verification_tokens_token ON verification_tokens(token);
 
 -- Change the column type from BIGINT to VARCHAR
 ALTER TABLE movie_trailers
-ALTER COLUMN tmdb_id TYPE VARCHAR(255) USING tmdb_id::VARCHAR;
\ No newline at end of file
+ALTER COLUMN tmdb_id TYPE VARCHAR(255) USING tmdb_id::VARCHAR;
+
+-- Progress markers for resumable sync jobs (change-feed watermarks, import offsets)
+CREATE TABLE sync_checkpoints (
+                                  name VARCHAR(100) PRIMARY KEY,
+                                  value TEXT NOT NULL,
+                                  updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Durable bulk sync jobs; RUNNING rows are resumed from cursor_id on startup
+CREATE TABLE sync_jobs (
+                           id BIGSERIAL PRIMARY KEY,
+                           job_type VARCHAR(50) NOT NULL,
+                           status VARCHAR(20) NOT NULL,
+                           cursor_id BIGINT,
+                           total_items BIGINT NOT NULL DEFAULT 0,
+                           processed_items BIGINT NOT NULL DEFAULT 0,
+                           failed_items BIGINT NOT NULL DEFAULT 0,
+                           error_samples TEXT,
+                           result_message TEXT,
+                           started_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                           run_started_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                           run_base_items BIGINT NOT NULL DEFAULT 0,
+                           updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                           finished_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX idx_sync_jobs_status ON sync_jobs(status);
+
+-- Fingerprint of the last TMDB data written to the row; syncs skip rows whose fingerprint is unchanged
+ALTER TABLE movies ADD COLUMN content_hash VARCHAR(64);
+ALTER TABLE casts ADD COLUMN content_hash VARCHAR(64);
+ALTER TABLE reviews ADD COLUMN content_hash VARCHAR(64);
+
+-- One row per exclusive scheduled task; a node runs the task only while it holds an unexpired lease
+CREATE TABLE scheduler_leases (
+                                  name VARCHAR(100) PRIMARY KEY,
+                                  holder VARCHAR(255) NOT NULL,
+                                  acquired_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                                  heartbeat_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                                  expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                                  released_at TIMESTAMP WITH TIME ZONE
+);
+
+-- When the row was last checked against TMDB (written or found unchanged); drives the refresh scheduler
+ALTER TABLE movies ADD COLUMN synced_at TIMESTAMP WITH TIME ZONE;
+ALTER TABLE casts ADD COLUMN synced_at TIMESTAMP WITH TIME ZONE;
+
+-- Sync items that failed, one row per job type and TMDB id; retried with exponential backoff until next_attempt_at is NULL (parked)
+CREATE TABLE sync_dead_letters (
+                                   id BIGSERIAL PRIMARY KEY,
+                                   job_type VARCHAR(50) NOT NULL,
+                                   tmdb_id BIGINT NOT NULL,
+                                   entity_id BIGINT,
+                                   entity_name VARCHAR(255),
+                                   source VARCHAR(100),
+                                   error_class VARCHAR(255) NOT NULL,
+                                   error_message TEXT,
+                                   attempts INT NOT NULL DEFAULT 1,
+                                   first_failed_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                                   last_failed_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                                   next_attempt_at TIMESTAMP WITH TIME ZONE,
+                                   UNIQUE (job_type, tmdb_id)
+);
+
+CREATE INDEX idx_sync_dead_letters_next_attempt ON sync_dead_letters(next_attempt_at);
+
+-- Ranked category lists (trending, popular), one snapshot per sync run; category_heads points at the published one
+CREATE TABLE category_snapshots (
+                                    id BIGSERIAL PRIMARY KEY,
+                                    category VARCHAR(20) NOT NULL,
+                                    item_count INT NOT NULL,
+                                    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_category_snapshots_category ON category_snapshots(category, id);
+
+CREATE TABLE category_snapshot_items (
+                                         snapshot_id BIGINT NOT NULL REFERENCES category_snapshots(id) ON DELETE CASCADE,
+                                         rank INT NOT NULL,
+                                         movie_id BIGINT NOT NULL REFERENCES movies(id) ON DELETE CASCADE,
+                                         PRIMARY KEY (snapshot_id, rank)
+);
+
+CREATE TABLE category_heads (
+                                category VARCHAR(20) PRIMARY KEY,
+                                snapshot_id BIGINT NOT NULL REFERENCES category_snapshots(id),
+                                published_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- At most one RUNNING job per type, also when several replicas start one at the same moment
+CREATE UNIQUE INDEX uq_sync_jobs_running_type ON sync_jobs(job_type) WHERE status = 'RUNNING';
+
+-- Lets the refresh scheduler read the never-synced and longest unsynced rows without scanning the tables
+CREATE INDEX idx_movies_synced_at ON movies(synced_at);
+CREATE INDEX idx_casts_synced_at ON casts(synced_at);
+
+-- Category heads only move to snapshots of a sync run that started later, whatever order the runs finish in
+ALTER TABLE category_snapshots ADD COLUMN run_started_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE category_heads ADD COLUMN run_started_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP;
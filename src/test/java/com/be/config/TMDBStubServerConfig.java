@@ -0,0 +1,40 @@
+package com.be.config;
+
+import com.be.service.external.stub.TMDBStubServer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Starts the embedded TMDB stub in Spring Boot tests that set {@code app.tmdb.stub.enabled=true}.
+ * {@code app.tmdb.base-url} still decides where TMDB calls go, so set it to the stub's URL as well.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.tmdb.stub", name = "enabled", havingValue = "true")
+public class TMDBStubServerConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public TMDBStubServer tmdbStubServer(@Value("${app.tmdb.stub.port:8089}") int port,
+                                         @Value("${app.tmdb.stub.fixtures-dir:}") String fixturesDir,
+                                         @Value("${app.tmdb.stub.latency:0ms}") Duration latency,
+                                         @Value("${app.tmdb.stub.latency-jitter:0ms}") Duration latencyJitter,
+                                         @Value("${app.tmdb.stub.error-rate:0}") double errorRate,
+                                         @Value("${app.tmdb.stub.error-status:500}") int errorStatus,
+                                         @Value("${app.tmdb.stub.record-upstream:}") String recordUpstream,
+                                         @Value("${app.tmdb.token:''}") String recordToken) {
+        return TMDBStubServer.builder()
+                .port(port)
+                .fixturesDir(fixturesDir.isBlank() ? null : Path.of(fixturesDir))
+                .latency(latency)
+                .latencyJitter(latencyJitter)
+                .errorRate(errorRate)
+                .errorStatus(errorStatus)
+                .recordUpstream(recordUpstream)
+                .recordToken(recordToken)
+                .build();
+    }
+}
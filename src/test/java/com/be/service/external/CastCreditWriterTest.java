@@ -0,0 +1,104 @@
+package com.be.service.external;
+
+import com.be.model.dto.tmdb.TMDBCastDTO;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CastCreditWriterTest {
+    private static final long MOVIE_ID = 42L;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final NamedParameterJdbcTemplate namedJdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    private final CastCreditWriter writer = new CastCreditWriter(jdbcTemplate, namedJdbcTemplate,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), PartitionedSyncExecutorTest.metrics());
+    // Casts already in the database; a cast insert adds to it
+    private final Set<Long> storedCasts = new HashSet<>(Set.of(1L));
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void linksEveryCharacterOfAPersonOnceAndCreatesThePersonOnce() throws Exception {
+        stubCastTable();
+
+        writer.writeMovieCasts(MOVIE_ID, List.of(
+                credit(1L, "Tyler Durden"),
+                credit(2L, "Marla Singer"),
+                credit(2L, "Marla (voice)"),
+                credit(2L, "Marla Singer"),
+                credit(3L, null),
+                credit(3L, " ")));
+
+        ArgumentCaptor<List<Object[]>> casts = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO casts"), casts.capture());
+        assertThat(casts.getValue()).extracting(row -> row[0]).containsExactly(2L, 3L);
+
+        ArgumentCaptor<List<Object[]>> links = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO movie_casts"), links.capture());
+        assertThat(links.getValue()).extracting(row -> row[1] + ":" + row[2]).containsExactly(
+                "1001:Tyler Durden",
+                "1002:Marla Singer",
+                "1002:Marla (voice)",
+                "1003:" + CastCreditWriter.UNKNOWN_CHARACTER);
+    }
+
+    @Test
+    void writesNothingWithoutUsableCredits() {
+        assertThat(writer.writeMovieCasts(MOVIE_ID, List.of(credit(null, "Narrator")))).isZero();
+    }
+
+    // Cast ids are the TMDB id plus 1000
+    @SuppressWarnings("unchecked")
+    private void stubCastTable() throws Exception {
+        doAnswer(invocation -> {
+            Collection<Long> tmdbIds = (Collection<Long>) invocation.<Map<String, Object>>getArgument(1).get("tmdbIds");
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (Long tmdbId : tmdbIds) {
+                if (storedCasts.contains(tmdbId)) {
+                    ResultSet rs = mock(ResultSet.class);
+                    when(rs.getLong("tmdb_id")).thenReturn(tmdbId);
+                    when(rs.getLong("id")).thenReturn(tmdbId + 1000);
+                    handler.processRow(rs);
+                }
+            }
+            return null;
+        }).when(namedJdbcTemplate).query(anyString(), anyMap(), any(RowCallbackHandler.class));
+        when(jdbcTemplate.batchUpdate(contains("INSERT INTO casts"), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            rows.forEach(row -> storedCasts.add((Long) row[0]));
+            return new int[rows.size()];
+        });
+        when(jdbcTemplate.batchUpdate(contains("INSERT INTO movie_casts"), anyList()))
+                .thenAnswer(invocation -> new int[invocation.<List<?>>getArgument(1).size()]);
+    }
+
+    private static TMDBCastDTO credit(Long id, String character) {
+        TMDBCastDTO credit = new TMDBCastDTO();
+        credit.setId(id);
+        credit.setName("Person " + id);
+        credit.setCharacter(character);
+        credit.setKnown_for_department("Acting");
+        return credit;
+    }
+}
@@ -0,0 +1,72 @@
+package com.be.service.external;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class CategorySnapshotWriterTest {
+    private static final Instant RUN_STARTED_AT = Instant.parse("2026-10-18T08:00:00Z");
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final CategorySnapshotWriter writer = new CategorySnapshotWriter(jdbcTemplate,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), PartitionedSyncExecutorTest.metrics(), 3);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publishesRanksAndMovesTheHeadByRunStart() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), any(Object[].class))).thenReturn(9L);
+        when(jdbcTemplate.update(contains("category_heads"), any(Object[].class))).thenReturn(1);
+
+        Long snapshotId = writer.publish("POPULAR", Arrays.asList(3L, null, 1L, 3L, 2L), RUN_STARTED_AT);
+
+        assertThat(snapshotId).isEqualTo(9L);
+        verify(jdbcTemplate).queryForObject(contains("INSERT INTO category_snapshots"), eq(Long.class),
+                eq("POPULAR"), eq(3), eq(Timestamp.from(RUN_STARTED_AT)));
+
+        ArgumentCaptor<List<Object[]>> items = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("category_snapshot_items"), items.capture());
+        assertThat(items.getValue()).extracting(item -> item[2]).containsExactly(3L, 1L, 2L);
+        assertThat(items.getValue()).extracting(item -> item[1]).containsExactly(1, 2, 3);
+
+        ArgumentCaptor<String> moveHead = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).update(moveHead.capture(), eq("POPULAR"), eq(9L), eq(Timestamp.from(RUN_STARTED_AT)));
+        assertThat(moveHead.getValue())
+                .contains("(category_heads.run_started_at, category_heads.snapshot_id)")
+                .contains("< (EXCLUDED.run_started_at, EXCLUDED.snapshot_id)");
+    }
+
+    @Test
+    void publishesNothingForAnEmptyList() {
+        assertThat(writer.publish("TRENDING_DAY", Arrays.asList(null, null), RUN_STARTED_AT)).isNull();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void keepsTheSnapshotsOfTheLatestRuns() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), any(Object[].class))).thenReturn(9L);
+
+        writer.publish("POPULAR", List.of(1L), RUN_STARTED_AT);
+
+        verify(jdbcTemplate).update(contains("ORDER BY k.run_started_at DESC, k.id DESC"),
+                eq("POPULAR"), eq("POPULAR"), eq(3));
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+    }
+}
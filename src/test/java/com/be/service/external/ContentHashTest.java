@@ -0,0 +1,45 @@
+package com.be.service.external;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentHashTest {
+
+    @Test
+    void isStableAcrossRuns() {
+        // Stored hashes outlive deployments; changing the encoding forces a rewrite of every row
+        assertThat(ContentHash.of("Fight Club", LocalDate.of(1999, 10, 15), null, List.of(53L, 18L),
+                new Object[]{"Fox 2000", null}))
+                .isEqualTo("663da96792fa624cb19bd558b0033531e5365a5a38f39bf5be604f6643278860");
+    }
+
+    @Test
+    void ignoresCollectionOrder() {
+        assertThat(ContentHash.of("Fight Club", List.of(
+                new Object[]{1L, "Fox 2000"}, new Object[]{2L, "Regency"})))
+                .isEqualTo(ContentHash.of("Fight Club", List.of(
+                        new Object[]{2L, "Regency"}, new Object[]{1L, "Fox 2000"})));
+    }
+
+    @Test
+    void keepsFieldBoundariesAndNullsApart() {
+        assertThat(ContentHash.of("ab", "c")).isNotEqualTo(ContentHash.of("a", "bc"));
+        assertThat(ContentHash.of((Object) null)).isNotEqualTo(ContentHash.of(""));
+        assertThat(ContentHash.of((Object) null)).isNotEqualTo(ContentHash.of("null"));
+        assertThat(ContentHash.of(List.of())).isNotEqualTo(ContentHash.of((Object) null));
+        assertThat(ContentHash.of("a", "b")).isNotEqualTo(ContentHash.of((Object) new Object[]{"a", "b"}));
+    }
+
+    @Test
+    void changesWithAnyValue() {
+        String hash = ContentHash.of("Fight Club", 139, 63000000L);
+
+        assertThat(ContentHash.of("Fight Club", 139, 63000000L)).isEqualTo(hash);
+        assertThat(ContentHash.of("Fight Club", 140, 63000000L)).isNotEqualTo(hash);
+        assertThat(ContentHash.of("Fight club", 139, 63000000L)).isNotEqualTo(hash);
+    }
+}
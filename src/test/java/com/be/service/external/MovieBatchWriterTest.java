@@ -0,0 +1,55 @@
+package com.be.service.external;
+
+import com.be.model.entity.Genre;
+import com.be.model.entity.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MovieBatchWriterTest {
+
+    @Test
+    void popularityAndVotesDoNotChangeTheContentHash() {
+        Movie movie = movie(List.of(18L, 80L));
+        String hash = MovieBatchWriter.contentHash(movie);
+
+        movie.setPopularity(movie.getPopularity() * 3);
+        movie.setVoteAverage(7.1f);
+        movie.setVoteCount(movie.getVoteCount() + 250);
+
+        assertThat(MovieBatchWriter.contentHash(movie)).isEqualTo(hash);
+    }
+
+    @Test
+    void cascadedContentChangesTheContentHash() {
+        String hash = MovieBatchWriter.contentHash(movie(List.of(18L, 80L)));
+
+        assertThat(MovieBatchWriter.contentHash(movie(List.of(80L, 18L)))).isEqualTo(hash);
+        assertThat(MovieBatchWriter.contentHash(movie(List.of(18L)))).isNotEqualTo(hash);
+
+        Movie retitled = movie(List.of(18L, 80L));
+        retitled.setOverview("A new overview");
+        assertThat(MovieBatchWriter.contentHash(retitled)).isNotEqualTo(hash);
+    }
+
+    private static Movie movie(List<Long> genreIds) {
+        Set<Genre> genres = new LinkedHashSet<>();
+        genreIds.forEach(id -> genres.add(Genre.builder().tmdbId(id).name("Genre " + id).build()));
+        return Movie.builder()
+                .tmdbId(238L)
+                .title("The Godfather")
+                .overview("Spanning the years 1945 to 1955...")
+                .releaseDate(LocalDate.of(1972, 3, 14))
+                .runtime(175f)
+                .popularity(120.5f)
+                .voteAverage(8.7f)
+                .voteCount(20000)
+                .genres(genres)
+                .build();
+    }
+}
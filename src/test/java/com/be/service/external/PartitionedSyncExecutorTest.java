@@ -0,0 +1,105 @@
+package com.be.service.external;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PartitionedSyncExecutorTest {
+
+    @Test
+    void releasesCheckpointsOnlyOnceAllEarlierChunksAreDone() {
+        PartitionedSyncExecutor.CheckpointOrder<String> order = new PartitionedSyncExecutor.CheckpointOrder<>();
+        List<String> released = new ArrayList<>();
+        PartitionedSyncExecutor.CheckpointListener<String> listener =
+                (lastItem, processed, failed, errors) -> released.add(lastItem + " " + processed + "/" + failed);
+        long first = order.register();
+        long second = order.register();
+        long third = order.register();
+
+        order.complete(third, "c", tally(3, 0), listener);
+        order.complete(second, "b", tally(1, 1), listener);
+        assertThat(released).isEmpty();
+
+        // The first chunk unblocks the two after it, and only the furthest point is released
+        order.complete(first, "a", tally(2, 0), listener);
+        assertThat(released).containsExactly("c 6/1");
+
+        long fourth = order.register();
+        order.complete(fourth, "d", tally(4, 0), listener);
+        assertThat(released).containsExactly("c 6/1", "d 10/1");
+    }
+
+    @Test
+    void countsOnlyReleasedChunks() {
+        PartitionedSyncExecutor.CheckpointOrder<String> order = new PartitionedSyncExecutor.CheckpointOrder<>();
+        List<String> errors = new ArrayList<>();
+        long first = order.register();
+        long second = order.register();
+        PartitionedSyncExecutor.ChunkTally failing = tally(0, 1);
+        failing.errors.add("item 2 failed");
+
+        order.complete(second, "b", failing, (lastItem, processed, failed, released) -> errors.addAll(released));
+        order.complete(first, "a", tally(1, 0), (lastItem, processed, failed, released) -> {
+            assertThat(lastItem).isEqualTo("b");
+            assertThat(processed).isEqualTo(1);
+            assertThat(failed).isEqualTo(1);
+            errors.addAll(released);
+        });
+
+        assertThat(errors).containsExactly("item 2 failed");
+    }
+
+    @Test
+    void runsEveryItemAndCheckpointsInSourceOrder() {
+        PartitionedSyncExecutor executor = new PartitionedSyncExecutor(metrics(), 4, 5, 0, false);
+        List<Long> items = LongStream.rangeClosed(1, 100).boxed().toList();
+        List<Long> checkpoints = Collections.synchronizedList(new ArrayList<>());
+        List<Long> miscounted = Collections.synchronizedList(new ArrayList<>());
+
+        SyncRunResult result = executor.<Long>run("test-job", items.size(),
+                sink -> {
+                    for (int from = 0; from < items.size(); from += 20) {
+                        sink.accept(items.subList(from, from + 20));
+                    }
+                },
+                item -> {
+                    if (item % 10 == 0) {
+                        throw new IllegalStateException("boom");
+                    }
+                },
+                item -> "item " + item,
+                (lastItem, processed, failed, errors) -> {
+                    checkpoints.add(lastItem);
+                    if (processed + failed != lastItem || failed != lastItem / 10) {
+                        miscounted.add(lastItem);
+                    }
+                });
+
+        assertThat(result.getProcessed()).isEqualTo(90);
+        assertThat(result.getFailed()).isEqualTo(10);
+        assertThat(result.getErrors()).hasSize(10).allMatch(error -> error.contains("boom"));
+        assertThat(checkpoints).isSorted().isNotEmpty().endsWith(100L);
+        assertThat(checkpoints).allMatch(item -> item % 20 == 0);
+        // Released chunks are counted whole and nothing after them, two failures in every chunk of 20
+        assertThat(miscounted).isEmpty();
+    }
+
+    private static PartitionedSyncExecutor.ChunkTally tally(long processed, long failed) {
+        PartitionedSyncExecutor.ChunkTally tally = new PartitionedSyncExecutor.ChunkTally();
+        tally.processed.set(processed);
+        tally.failed.set(failed);
+        return tally;
+    }
+
+    static TMDBMetrics metrics() {
+        return new TMDBMetrics(new SimpleMeterRegistry(), new TMDBRateLimiter(40, 2, 50, 1, 20, 3),
+                mock(TMDBHttpPoolMonitor.class));
+    }
+}
@@ -0,0 +1,189 @@
+package com.be.service.external;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SchedulerLeaseServiceTest {
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    // Heartbeats are driven by the tests
+    private final SchedulerLeaseService service = new SchedulerLeaseService(jdbcTemplate, "node-a",
+            Duration.ofMinutes(1), Duration.ofHours(1), Duration.ofSeconds(30));
+    private final List<SchedulerLeaseService> otherNodes = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+        otherNodes.forEach(SchedulerLeaseService::shutdown);
+    }
+
+    @Test
+    void keepsTheLeaseForTheMinimumHoldAfterARelease() {
+        FakeLeaseTable table = new FakeLeaseTable(jdbcTemplate);
+        SchedulerLeaseService otherNode = otherNode("node-b");
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThat(service.runExclusive("tmdb-trending-sync", SchedulerLeaseService.CRON_MIN_HOLD, () -> {
+            runs.incrementAndGet();
+            table.advance(Duration.ofSeconds(20));
+        })).isTrue();
+
+        // node-b's trigger for the same schedule fires late, after node-a is already done
+        table.advance(Duration.ofSeconds(5));
+        assertThat(otherNode.runExclusive("tmdb-trending-sync", SchedulerLeaseService.CRON_MIN_HOLD,
+                runs::incrementAndGet)).isFalse();
+
+        table.advance(SchedulerLeaseService.CRON_MIN_HOLD);
+        assertThat(otherNode.runExclusive("tmdb-trending-sync", SchedulerLeaseService.CRON_MIN_HOLD,
+                runs::incrementAndGet)).isTrue();
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void holdsForTheConfiguredMinimumByDefault() {
+        FakeLeaseTable table = new FakeLeaseTable(jdbcTemplate);
+        SchedulerLeaseService otherNode = otherNode("node-b");
+
+        service.runExclusive("tmdb-dead-letter-retry", () -> table.advance(Duration.ofSeconds(1)));
+
+        table.advance(Duration.ofSeconds(10));
+        assertThat(otherNode.runExclusive("tmdb-dead-letter-retry", () -> { })).isFalse();
+        table.advance(Duration.ofSeconds(20));
+        assertThat(otherNode.runExclusive("tmdb-dead-letter-retry", () -> { })).isTrue();
+    }
+
+    @Test
+    void tellsTheTaskOnceAnotherNodeTookTheLease() {
+        acquireSucceeds(true);
+        when(jdbcTemplate.update(contains("SET heartbeat_at"), any(Object[].class))).thenReturn(0);
+        List<Boolean> checks = new ArrayList<>();
+
+        boolean ran = service.runExclusive("sync-job-1", leaseHeld -> {
+            checks.add(leaseHeld.getAsBoolean());
+            service.heartbeat();
+            checks.add(leaseHeld.getAsBoolean());
+        });
+
+        assertThat(ran).isTrue();
+        assertThat(checks).containsExactly(true, false);
+    }
+
+    @Test
+    void takesOverAbandonedLeasesOnItsOwnThread() throws Exception {
+        acquireSucceeds(false);
+        CompletableFuture<String> takeover = new CompletableFuture<>();
+        service.runExclusive("sync-job-2", () -> takeover.complete(Thread.currentThread().getName()));
+        assertThat(takeover).isNotDone();
+
+        acquireSucceeds(true);
+        abandoned("sync-job-2");
+        service.heartbeat();
+
+        assertThat(takeover.get(5, TimeUnit.SECONDS)).startsWith("scheduler-lease-takeover-");
+    }
+
+    @Test
+    void forgetsTasksOnceTheyFinish() throws Exception {
+        acquireSucceeds(true);
+        AtomicInteger runs = new AtomicInteger();
+        service.runExclusive("sync-job-3", runs::incrementAndGet);
+
+        abandoned("sync-job-3");
+        service.heartbeat();
+
+        Thread.sleep(200);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void forgetsTasksAnotherNodeFinished() throws Exception {
+        acquireSucceeds(false);
+        CompletableFuture<Void> takeover = new CompletableFuture<>();
+        service.runExclusive("sync-job-4", () -> takeover.complete(null));
+        when(jdbcTemplate.queryForList(contains("released_at IS NOT NULL"), eq(String.class)))
+                .thenReturn(List.of("sync-job-4"));
+        service.heartbeat();
+
+        acquireSucceeds(true);
+        abandoned("sync-job-4");
+        service.heartbeat();
+
+        Thread.sleep(200);
+        assertThat(takeover).isNotDone();
+    }
+
+    private SchedulerLeaseService otherNode(String nodeId) {
+        SchedulerLeaseService node = new SchedulerLeaseService(jdbcTemplate, nodeId,
+                Duration.ofMinutes(1), Duration.ofHours(1), Duration.ofSeconds(30));
+        otherNodes.add(node);
+        return node;
+    }
+
+    // scheduler_leases as ACQUIRE and RELEASE treat it, on a clock the test moves
+    private static class FakeLeaseTable {
+        private record Lease(String holder, long acquiredAt, long expiresAt) {
+        }
+
+        private final Map<String, Lease> leases = new HashMap<>();
+        private long now = 1_000_000;
+
+        FakeLeaseTable(JdbcTemplate jdbcTemplate) {
+            when(jdbcTemplate.update(contains("INSERT INTO scheduler_leases"), any(Object[].class)))
+                    .thenAnswer(invocation -> acquire(invocation.getArgument(1), invocation.getArgument(2),
+                            invocation.<Long>getArgument(3)));
+            when(jdbcTemplate.update(contains("SET released_at"), any(Object[].class)))
+                    .thenAnswer(invocation -> release(invocation.<Long>getArgument(1), invocation.getArgument(2),
+                            invocation.getArgument(3)));
+        }
+
+        void advance(Duration duration) {
+            now += duration.toMillis();
+        }
+
+        private int acquire(String name, String holder, long ttlMillis) {
+            Lease lease = leases.get(name);
+            if (lease != null && lease.expiresAt() >= now) {
+                return 0;
+            }
+            leases.put(name, new Lease(holder, now, now + ttlMillis));
+            return 1;
+        }
+
+        private int release(long minHoldMillis, String name, String holder) {
+            Lease lease = leases.get(name);
+            if (lease == null || !lease.holder().equals(holder)) {
+                return 0;
+            }
+            leases.put(name, new Lease(holder, lease.acquiredAt(), Math.max(now, lease.acquiredAt() + minHoldMillis)));
+            return 1;
+        }
+    }
+
+    private void acquireSucceeds(boolean acquired) {
+        when(jdbcTemplate.update(contains("INSERT INTO scheduler_leases"), any(Object[].class)))
+                .thenReturn(acquired ? 1 : 0);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class))).thenReturn(List.of("node-b"));
+    }
+
+    private void abandoned(String name) {
+        when(jdbcTemplate.queryForList(contains("expires_at < now()")))
+                .thenReturn(List.of(Map.of("name", name, "holder", "node-b")));
+    }
+}
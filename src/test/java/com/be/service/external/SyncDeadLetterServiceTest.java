@@ -0,0 +1,130 @@
+package com.be.service.external;
+
+import com.be.appexception.ResourceNotFoundException;
+import com.be.model.dto.CatalogItemDTO;
+import com.be.model.entity.SyncDeadLetter;
+import com.be.model.entity.SyncJobType;
+import com.be.repository.SyncDeadLetterRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SyncDeadLetterServiceTest {
+    private final SyncDeadLetterRepository repository = mock(SyncDeadLetterRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SyncItemTasks syncItemTasks = mock(SyncItemTasks.class);
+    private final SyncDeadLetterService service = new SyncDeadLetterService(repository, jdbcTemplate, syncItemTasks,
+            new PartitionedSyncExecutor(PartitionedSyncExecutorTest.metrics(), 2, 10, 0, false),
+            mock(SchedulerLeaseService.class), true, 5, Duration.ofMinutes(1), Duration.ofMinutes(5), 200);
+
+    @Test
+    void doublesTheDelayUpToTheCap() {
+        assertThat(service.nextDelaySeconds(1, true)).isEqualTo(60.0);
+        assertThat(service.nextDelaySeconds(2, true)).isEqualTo(120.0);
+        assertThat(service.nextDelaySeconds(3, true)).isEqualTo(240.0);
+        assertThat(service.nextDelaySeconds(4, true)).isEqualTo(300.0);
+    }
+
+    @Test
+    void parksItemsOutOfAttemptsOrNotRetryable() {
+        assertThat(service.nextDelaySeconds(5, true)).isNull();
+        assertThat(service.nextDelaySeconds(1, false)).isNull();
+    }
+
+    @Test
+    void retriesRateLimitsServerErrorsAndTimeouts() {
+        assertThat(SyncDeadLetterService.isRetryable(
+                HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "", HttpHeaders.EMPTY, null, null))).isTrue();
+        assertThat(SyncDeadLetterService.isRetryable(
+                HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "", HttpHeaders.EMPTY, null, null))).isTrue();
+        assertThat(SyncDeadLetterService.isRetryable(
+                new ResourceAccessException("Read timed out", new SocketTimeoutException()))).isTrue();
+        assertThat(SyncDeadLetterService.isRetryable(
+                WebClientResponseException.create(503, "", HttpHeaders.EMPTY, null, null))).isTrue();
+    }
+
+    @Test
+    void parksClientErrors() {
+        assertThat(SyncDeadLetterService.isRetryable(
+                HttpClientErrorException.create(HttpStatus.NOT_FOUND, "", HttpHeaders.EMPTY, null, null))).isFalse();
+        // Wrapped by the sync step, the status still decides
+        assertThat(SyncDeadLetterService.isRetryable(new IllegalStateException("sync failed",
+                HttpClientErrorException.create(HttpStatus.UNAUTHORIZED, "", HttpHeaders.EMPTY, null, null)))).isFalse();
+        assertThat(SyncDeadLetterService.isRetryable(new ResourceNotFoundException("Movie", "id", 1L))).isFalse();
+    }
+
+    @Test
+    void recordsNotFoundWithoutNextAttempt() {
+        service.record(SyncJobType.MOVIES_FULL, new CatalogItemDTO(7L, 550L, "Fight Club"), "test",
+                HttpClientErrorException.create(HttpStatus.NOT_FOUND, "", HttpHeaders.EMPTY, null, null));
+
+        verify(jdbcTemplate).update(anyString(), eq("MOVIES_FULL"), eq(550L), eq(7L), eq("Fight Club"), eq("test"),
+                eq(HttpClientErrorException.NotFound.class.getName()), any(), eq(null),
+                eq(false), eq(5), eq(60.0), eq(300.0));
+    }
+
+    @Test
+    void deletesSyncedItemsAndRecordsFailedRetries() {
+        SyncDeadLetter synced = letter(1L, 550L);
+        SyncDeadLetter failing = letter(2L, 551L);
+        when(repository.findDue(any(), any())).thenReturn(List.of(synced, failing));
+        Consumer<CatalogItemDTO> task = item -> {
+            if (item.getTmdbId() == 551L) {
+                throw new IllegalStateException("still broken");
+            }
+        };
+        when(syncItemTasks.forType(SyncJobType.MOVIES_FULL)).thenReturn(task);
+
+        SyncRunResult result = service.retryDue();
+
+        assertThat(result.getProcessed()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(1);
+        verify(repository).deleteById(1L);
+        verify(repository, never()).deleteById(2L);
+        verify(jdbcTemplate).update(anyString(), eq("MOVIES_FULL"), eq(551L), any(), any(), eq("test"),
+                eq(IllegalStateException.class.getName()), eq("still broken"), eq(60.0),
+                eq(true), eq(5), eq(60.0), eq(300.0));
+    }
+
+    @Test
+    void neverLetsBookkeepingFailuresHideTheOriginalError() {
+        doThrow(new IllegalStateException("database down")).when(jdbcTemplate).update(anyString(), any(Object[].class));
+        Consumer<CatalogItemDTO> task = service.recordingFailures(SyncJobType.CAST_DETAILS, "test", item -> {
+            throw new IllegalArgumentException("bad item");
+        });
+
+        assertThatThrownBy(() -> task.accept(new CatalogItemDTO(1L, 2L, "x")))
+                .hasMessage("bad item");
+    }
+
+    private static SyncDeadLetter letter(Long id, Long tmdbId) {
+        return SyncDeadLetter.builder()
+                .id(id)
+                .jobType(SyncJobType.MOVIES_FULL)
+                .tmdbId(tmdbId)
+                .source("test")
+                .attempts(1)
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.be.service.external;
+
+import com.be.model.dto.SyncJobDTO;
+import com.be.model.entity.SyncJob;
+import com.be.model.entity.SyncJobStatus;
+import com.be.model.entity.SyncJobType;
+import com.be.repository.SyncJobRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class SyncJobServiceTest {
+    private final SyncJobRepository repository = mock(SyncJobRepository.class);
+    private final Executor taskExecutor = mock(Executor.class);
+    private final SyncJobService service = new SyncJobService(repository, mock(CatalogIterator.class),
+            mock(PartitionedSyncExecutor.class), taskExecutor, mock(SchedulerLeaseService.class),
+            mock(SyncItemTasks.class), mock(SyncDeadLetterService.class));
+
+    @Test
+    void returnsTheJobAnotherNodeStartedFirst() {
+        SyncJob other = SyncJob.builder()
+                .id(42L)
+                .jobType(SyncJobType.MOVIES_FULL)
+                .status(SyncJobStatus.RUNNING)
+                .startedAt(ZonedDateTime.now())
+                .runStartedAt(ZonedDateTime.now())
+                .build();
+        when(repository.findFirstByJobTypeAndStatus(SyncJobType.MOVIES_FULL, SyncJobStatus.RUNNING))
+                .thenReturn(Optional.empty(), Optional.of(other));
+        when(repository.save(any())).thenThrow(new DataIntegrityViolationException("uq_sync_jobs_running_type"));
+
+        SyncJobDTO job = service.start(SyncJobType.MOVIES_FULL);
+
+        assertThat(job.getId()).isEqualTo(42L);
+        verifyNoInteractions(taskExecutor);
+    }
+}
@@ -0,0 +1,116 @@
+package com.be.service.external;
+
+import com.be.model.dto.tmdb.TMDBCastDTO;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class TMDBJsonStreamTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Data
+    static class Header {
+        private Long id;
+        private String name;
+    }
+
+    @Test
+    void deliversArrayElementsInChunks() throws IOException {
+        byte[] json = credits(2_500, 0);
+        List<Integer> chunkSizes = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+
+        decode(objectMapper, json, TMDBJsonStream.of(null)
+                .array("cast", TMDBCastDTO.class, chunk -> {
+                    chunkSizes.add(chunk.size());
+                    chunk.forEach(cast -> ids.add(cast.getId()));
+                }), 1_000);
+
+        assertThat(chunkSizes).containsExactly(1_000, 1_000, 500);
+        assertThat(ids).hasSize(2_500).startsWith(1L, 2L, 3L).endsWith(2_500L);
+    }
+
+    @Test
+    void neverBuffersUnregisteredFieldsWithoutHeaderType() throws IOException {
+        byte[] json = credits(200, 50_000);
+        ObjectMapper mapper = spy(new ObjectMapper());
+        List<TMDBCastDTO> cast = new ArrayList<>();
+
+        decode(mapper, json, TMDBJsonStream.of(null).array("cast", TMDBCastDTO.class, cast::addAll), 100);
+
+        assertThat(cast).hasSize(200);
+        // The crew array is skipped token by token instead of being read into a tree
+        verify(mapper, never()).readTree(any(JsonParser.class));
+    }
+
+    @Test
+    void decodesHeaderBeforeFirstChunkAndSkipsNestedUnregisteredArrays() throws IOException {
+        String json = """
+                {"id": 31, "name": "Tom Hanks",
+                 "movie_credits": {
+                   "cast": [{"id": 13, "character": "Forrest Gump"}, {"id": 862, "character": "Woody"}],
+                   "crew": [{"id": 1, "job": "Producer"}]
+                 }}
+                """;
+        List<String> events = new ArrayList<>();
+
+        Header header = decode(objectMapper, json.getBytes(), TMDBJsonStream.of(Header.class)
+                .onHeader(decoded -> events.add("header " + decoded.getName()))
+                .array("movie_credits.cast", TMDBCastDTO.class, chunk -> events.add("chunk " + chunk.size())), 10);
+
+        assertThat(header.getId()).isEqualTo(31L);
+        assertThat(events).containsExactly("header Tom Hanks", "chunk 2");
+    }
+
+    private static <H> H decode(ObjectMapper mapper, byte[] json, TMDBJsonStream<H> stream, int chunkSize)
+            throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(json)) {
+            return stream.decode(parser, mapper, chunkSize);
+        }
+    }
+
+    // A credits response shaped like /movie/{id}/credits, with crew written after cast as TMDB does
+    private static byte[] credits(int castSize, int crewSize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = new JsonFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeNumberField("id", 603);
+            generator.writeArrayFieldStart("cast");
+            for (int i = 1; i <= castSize; i++) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", i);
+                generator.writeStringField("name", "Actor " + i);
+                generator.writeStringField("character", "Role " + i);
+                generator.writeNumberField("order", i - 1);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("crew");
+            for (int i = 1; i <= crewSize; i++) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", 100_000 + i);
+                generator.writeStringField("name", "Crew " + i);
+                generator.writeStringField("department", "Crew");
+                generator.writeStringField("job", "Grip");
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,37 @@
+package com.be.service.external;
+
+import com.be.model.dto.admin.HttpPoolStatsDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TMDBMetricsTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TMDBHttpPoolMonitor httpPoolMonitor = mock(TMDBHttpPoolMonitor.class);
+
+    @Test
+    void exposesPoolAndRateLimiterGauges() {
+        when(httpPoolMonitor.getStats()).thenReturn(HttpPoolStatsDTO.builder()
+                .mode("pooled")
+                .leased(3)
+                .pending(1)
+                .idle(5)
+                .build());
+        new TMDBMetrics(registry, new TMDBRateLimiter(40, 2, 50, 1, 20, 3), httpPoolMonitor);
+
+        assertThat(gauge("tmdb.http.pool.leased").value()).isEqualTo(3);
+        assertThat(gauge("tmdb.http.pool.pending").value()).isEqualTo(1);
+        assertThat(gauge("tmdb.http.pool.idle").value()).isEqualTo(5);
+        assertThat(gauge("tmdb.rate.limiter.available").value()).isPositive();
+        assertThat(registry.getMeters()).allSatisfy(meter ->
+                assertThat(meter.getId().getDescription()).as(meter.getId().getName()).isNotBlank());
+    }
+
+    private Gauge gauge(String name) {
+        return registry.get(name).gauge();
+    }
+}
@@ -0,0 +1,131 @@
+package com.be.service.external;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TMDBRateLimiterTest {
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    private TMDBRateLimiter limiter(double rate, double burst) {
+        return new TMDBRateLimiter(rate, 2, 50, 1, burst, 3, clock::get);
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    void refillsAtTheCurrentRateUpToTheBurst() {
+        TMDBRateLimiter limiter = limiter(10, 5);
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire();
+        }
+        assertThat(limiter.getStats().getAvailablePermits()).isCloseTo(0, within(1e-9));
+        assertThat(limiter.getStats().getWaitedCount()).isZero();
+
+        advance(Duration.ofMillis(200));
+        assertThat(limiter.getStats().getAvailablePermits()).isCloseTo(2, within(1e-9));
+
+        advance(Duration.ofSeconds(10));
+        assertThat(limiter.getStats().getAvailablePermits()).isCloseTo(5, within(1e-9));
+    }
+
+    @Test
+    void waitsForThePermitOnceTheBucketIsEmpty() {
+        TMDBRateLimiter limiter = limiter(50, 1);
+        limiter.acquire();
+        limiter.acquire();
+
+        // One permit at 50/s is 20 ms away; the clock does not move, so the wait is exact
+        assertThat(limiter.getStats().getWaitedCount()).isEqualTo(1);
+        assertThat(limiter.getStats().getTotalWaitMillis()).isEqualTo(20);
+    }
+
+    @Test
+    void throttlingHalvesTheRateAndPausesForRetryAfter() {
+        TMDBRateLimiter limiter = limiter(40, 20);
+
+        limiter.onThrottled(TMDBRateLimiter.parseRetryAfter("3"));
+        assertThat(limiter.getStats().getCurrentRate()).isEqualTo(20);
+        assertThat(limiter.getStats().getAvailablePermits()).isLessThanOrEqualTo(0);
+        assertThat(limiter.getStats().getPausedForMillis()).isEqualTo(3000);
+
+        limiter.onThrottled(Duration.ZERO);
+        limiter.onThrottled(Duration.ZERO);
+        limiter.onThrottled(Duration.ZERO);
+        assertThat(limiter.getStats().getCurrentRate()).isEqualTo(2.5);
+        limiter.onThrottled(Duration.ZERO);
+        assertThat(limiter.getStats().getCurrentRate()).isEqualTo(2);
+        assertThat(limiter.getStats().getThrottledCount()).isEqualTo(5);
+    }
+
+    @Test
+    void recoversAdditivelyOnlyAfterTheRecoveryWindow() {
+        TMDBRateLimiter limiter = limiter(40, 20);
+        limiter.onThrottled(Duration.ZERO);
+
+        advance(Duration.ofSeconds(5));
+        limiter.onSuccess();
+        assertThat(limiter.getStats().getCurrentRate()).isEqualTo(20);
+
+        advance(Duration.ofSeconds(6));
+        limiter.onSuccess();
+        assertThat(limiter.getStats().getCurrentRate()).isCloseTo(20.05, within(1e-9));
+
+        // About increase-step permits/s per second at the current rate, never above max-rate
+        for (int i = 0; i < 10_000; i++) {
+            limiter.onSuccess();
+        }
+        assertThat(limiter.getStats().getCurrentRate()).isEqualTo(50);
+    }
+
+    @Test
+    void reExecutesThrottledRequests() throws Exception {
+        TMDBRateLimiter limiter = limiter(40, 20);
+        AtomicInteger calls = new AtomicInteger();
+        ClientHttpRequestExecution execution = (request, body) -> {
+            if (calls.incrementAndGet() == 1) {
+                MockClientHttpResponse throttled = new MockClientHttpResponse(new byte[0], HttpStatus.TOO_MANY_REQUESTS);
+                throttled.getHeaders().add(HttpHeaders.RETRY_AFTER, "0");
+                return throttled;
+            }
+            return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+        };
+
+        var response = limiter.intercept(new MockClientHttpRequest(HttpMethod.GET, URI.create("http://tmdb/3/movie/1")),
+                new byte[0], execution);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(calls).hasValue(2);
+        assertThat(limiter.getStats().getThrottledCount()).isEqualTo(1);
+    }
+
+    @Test
+    void parsesRetryAfterSecondsAndDates() {
+        assertThat(TMDBRateLimiter.parseRetryAfter("7")).isEqualTo(Duration.ofSeconds(7));
+        assertThat(TMDBRateLimiter.parseRetryAfter(null)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(TMDBRateLimiter.parseRetryAfter("soon")).isEqualTo(Duration.ofSeconds(1));
+
+        String inOneMinute = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusMinutes(1));
+        assertThat(TMDBRateLimiter.parseRetryAfter(inOneMinute)).isBetween(Duration.ofSeconds(55), Duration.ofSeconds(60));
+        String past = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).minusMinutes(1));
+        assertThat(TMDBRateLimiter.parseRetryAfter(past)).isZero();
+    }
+}
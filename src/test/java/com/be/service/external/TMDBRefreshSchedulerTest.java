@@ -0,0 +1,69 @@
+package com.be.service.external;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TMDBRefreshSchedulerTest {
+    private final NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    private final TMDBRefreshScheduler scheduler = new TMDBRefreshScheduler(mock(TMDBService.class),
+            new ReadTrafficTracker(6), mock(PartitionedSyncExecutor.class), mock(SchedulerLeaseService.class),
+            jdbcTemplate, mock(SyncDeadLetterService.class),
+            true, 600, Duration.ofMinutes(5), Duration.ofHours(6), 2, 4, 1000);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ranksOnlyABoundedWindowOfTheSyncedAtIndex() {
+        when(jdbcTemplate.query(anyString(), anyMap(), any(RowMapper.class))).thenReturn(List.of());
+
+        scheduler.selectCandidates(50);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Map<String, Object>> params = ArgumentCaptor.forClass(Map.class);
+        verify(jdbcTemplate, times(2)).query(sql.capture(), params.capture(), any(RowMapper.class));
+        assertThat(sql.getAllValues())
+                .allMatch(query -> query.contains("WHERE synced_at IS NULL AND tmdb_id IS NOT NULL"))
+                .allMatch(query -> query.contains("WHERE synced_at < :staleBefore AND tmdb_id IS NOT NULL"))
+                .allMatch(query -> query.contains("ORDER BY synced_at\n"));
+        assertThat(sql.getAllValues().get(0)).contains("FROM movies");
+        assertThat(sql.getAllValues().get(1)).contains("FROM casts");
+        assertThat(params.getAllValues()).allMatch(values -> values.get("window").equals(1000)
+                && values.get("limit").equals(200)
+                && values.get("staleBefore") instanceof Timestamp);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void widensTheWindowToTheFetchSize() {
+        when(jdbcTemplate.query(anyString(), anyMap(), any(RowMapper.class))).thenReturn(List.of());
+
+        scheduler.selectCandidates(400);
+
+        verify(jdbcTemplate, times(2)).query(anyString(),
+                ArgumentMatchers.<Map<String, Object>>argThat(values -> values.get("window").equals(1600)),
+                any(RowMapper.class));
+    }
+
+    @Test
+    void scoresOlderAndMoreReadTitlesHigher() {
+        assertThat(scheduler.score(10, 48, 0)).isGreaterThan(scheduler.score(10, 12, 0));
+        assertThat(scheduler.score(10, 12, 100)).isGreaterThan(scheduler.score(10, 12, 0));
+        assertThat(scheduler.score(10, -1, 100)).isZero();
+    }
+}
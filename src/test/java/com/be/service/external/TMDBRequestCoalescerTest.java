@@ -0,0 +1,164 @@
+package com.be.service.external;
+
+import com.be.model.dto.tmdb.TMDBMovieDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TMDBRequestCoalescerTest {
+    private static final String URL = "https://api.themoviedb.org/3/movie/550?language=en-US&append_to_response=credits";
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void normalizesHostCaseAndQueryOrder() {
+        assertThat(TMDBRequestCoalescer.normalize(URL)).isEqualTo(TMDBRequestCoalescer.normalize(
+                "https://API.themoviedb.org/3/movie/550?append_to_response=credits&language=en-US"));
+        assertThat(TMDBRequestCoalescer.normalize(URL)).isNotEqualTo(TMDBRequestCoalescer.normalize(
+                "https://api.themoviedb.org/3/movie/550?language=fr-FR&append_to_response=credits"));
+        assertThat(TMDBRequestCoalescer.normalize(URL)).isNotEqualTo(TMDBRequestCoalescer.normalize(
+                "https://api.themoviedb.org/3/movie/551?language=en-US&append_to_response=credits"));
+    }
+
+    @Test
+    void concurrentIdenticalCallsShareOneUpstreamFetch() throws Exception {
+        TMDBRequestCoalescer coalescer = new TMDBRequestCoalescer(true, Duration.ofSeconds(10));
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        int callers = 8;
+
+        List<Future<byte[]>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> coalescer.execute(URL, () -> {
+                upstreamCalls.incrementAndGet();
+                // Hold the fetch until every other caller has joined it
+                awaitCollapsed(coalescer, callers - 1);
+                return bytes("fight club");
+            })));
+        }
+
+        for (Future<byte[]> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).asString(StandardCharsets.UTF_8).isEqualTo("fight club");
+        }
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(coalescer.getStats().getFetchCount()).isEqualTo(1);
+        assertThat(coalescer.getStats().getCollapsedCount()).isEqualTo(callers - 1);
+        assertThat(coalescer.getStats().getInFlight()).isZero();
+    }
+
+    @Test
+    void waitersGetTheLeadersFailure() throws Exception {
+        TMDBRequestCoalescer coalescer = new TMDBRequestCoalescer(true, Duration.ofSeconds(10));
+        Future<byte[]> leader = executor.submit(() -> coalescer.execute(URL, () -> {
+            awaitCollapsed(coalescer, 1);
+            throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+        }));
+        Future<byte[]> waiter = executor.submit(() -> {
+            awaitFetchStarted(coalescer);
+            return coalescer.execute(URL, () -> bytes("should not be fetched"));
+        });
+
+        assertThatThrownBy(() -> waiter.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(HttpServerErrorException.class);
+        assertThatThrownBy(() -> leader.get(10, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(HttpServerErrorException.class);
+        assertThat(coalescer.getStats().getFailedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void waitersGiveUpAfterMaxWait() throws Exception {
+        TMDBRequestCoalescer coalescer = new TMDBRequestCoalescer(true, Duration.ofMillis(100));
+        CountDownLatch release = new CountDownLatch(1);
+        Future<byte[]> leader = executor.submit(() -> coalescer.execute(URL, () -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return bytes("late");
+        }));
+        awaitFetchStarted(coalescer);
+
+        assertThatThrownBy(() -> coalescer.execute(URL, () -> bytes("should not be fetched")))
+                .isInstanceOf(ResourceAccessException.class);
+        assertThat(coalescer.getStats().getTimedOutCount()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(leader.get(10, TimeUnit.SECONDS)).asString(StandardCharsets.UTF_8).isEqualTo("late");
+    }
+
+    @Test
+    void coalescedCallersDecodeTheirOwnCopy() throws Exception {
+        TMDBRequestCoalescer coalescer = new TMDBRequestCoalescer(true, Duration.ofSeconds(10));
+        RestTemplate restTemplate = mock(RestTemplate.class);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), isNull(), eq(byte[].class))).thenAnswer(invocation -> {
+            awaitCollapsed(coalescer, 1);
+            return ResponseEntity.ok(bytes("{\"id\": 550, \"title\": \"Fight Club\"}"));
+        });
+        TMDBClient client = new TMDBClient(restTemplate, new TMDBPayloadSampler(0, 1, 0), coalescer,
+                PartitionedSyncExecutorTest.metrics(), 200);
+
+        Future<TMDBMovieDTO> first = executor.submit(() -> client.get(URL, TMDBMovieDTO.class, "movie-details"));
+        Future<TMDBMovieDTO> second = executor.submit(() -> client.get(URL, TMDBMovieDTO.class, "movie-details"));
+
+        TMDBMovieDTO firstMovie = first.get(10, TimeUnit.SECONDS);
+        TMDBMovieDTO secondMovie = second.get(10, TimeUnit.SECONDS);
+        assertThat(coalescer.getStats().getFetchCount()).isEqualTo(1);
+        assertThat(firstMovie).isNotSameAs(secondMovie);
+        firstMovie.setTitle("changed by the first caller");
+        assertThat(secondMovie.getTitle()).isEqualTo("Fight Club");
+    }
+
+    private static byte[] bytes(String body) {
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void awaitCollapsed(TMDBRequestCoalescer coalescer, long expected) {
+        awaitUntil(() -> coalescer.getStats().getCollapsedCount() >= expected);
+    }
+
+    private static void awaitFetchStarted(TMDBRequestCoalescer coalescer) {
+        awaitUntil(() -> coalescer.getStats().getInFlight() == 1);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not reached within 5 s");
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
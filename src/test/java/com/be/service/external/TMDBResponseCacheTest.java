@@ -0,0 +1,74 @@
+package com.be.service.external;
+
+import com.be.model.dto.tmdb.TMDBGenreDTO;
+import com.be.model.dto.tmdb.TMDBMovieDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TMDBResponseCacheTest {
+    private static final String URL = "https://api.themoviedb.org/3/movie/550?language=en-US";
+
+    @Test
+    void loadsOnceAndHandsOutCopies() {
+        TMDBResponseCache cache = new TMDBResponseCache(new MockEnvironment());
+        AtomicInteger loads = new AtomicInteger();
+
+        TMDBMovieDTO first = cache.get(TMDBResponseCache.Region.MOVIE_DETAILS, URL, () -> {
+            loads.incrementAndGet();
+            return fightClub();
+        });
+        first.setTitle("Changed by a caller");
+        first.getGenres().clear();
+
+        TMDBMovieDTO second = cache.get(TMDBResponseCache.Region.MOVIE_DETAILS, URL, () -> {
+            loads.incrementAndGet();
+            return fightClub();
+        });
+        second.setOverview(null);
+        TMDBMovieDTO third = cache.get(TMDBResponseCache.Region.MOVIE_DETAILS, URL, TMDBResponseCacheTest::fightClub);
+
+        assertThat(loads).hasValue(1);
+        assertThat(second).isNotSameAs(third);
+        assertThat(third.getTitle()).isEqualTo("Fight Club");
+        assertThat(third.getOverview()).isNotNull();
+        assertThat(third.getGenres()).extracting(TMDBGenreDTO::getName).containsExactly("Drama");
+    }
+
+    @Test
+    void passesThroughWhenDisabled() {
+        TMDBResponseCache cache = new TMDBResponseCache(
+                new MockEnvironment().withProperty("app.tmdb.cache.enabled", "false"));
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            cache.get(TMDBResponseCache.Region.MOVIE_DETAILS, URL, () -> {
+                loads.incrementAndGet();
+                return fightClub();
+            });
+        }
+
+        assertThat(loads).hasValue(3);
+    }
+
+    private static TMDBMovieDTO fightClub() {
+        TMDBMovieDTO movie = new TMDBMovieDTO();
+        movie.setId(550L);
+        movie.setTitle("Fight Club");
+        movie.setOverview("A ticking-time-bomb insomniac...");
+        movie.setGenres(new ArrayList<>(List.of(genre(18L, "Drama"))));
+        return movie;
+    }
+
+    private static TMDBGenreDTO genre(Long id, String name) {
+        TMDBGenreDTO genre = new TMDBGenreDTO();
+        genre.setId(id);
+        genre.setName(name);
+        return genre;
+    }
+}
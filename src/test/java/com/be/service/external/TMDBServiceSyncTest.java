@@ -0,0 +1,274 @@
+package com.be.service.external;
+
+import com.be.model.dto.tmdb.TMDBCastDTO;
+import com.be.model.dto.tmdb.TMDBMovieDTO;
+import com.be.model.dto.tmdb.TMDBReviewDTO;
+import com.be.model.entity.Cast;
+import com.be.model.entity.Movie;
+import com.be.model.entity.MovieCast;
+import com.be.model.entity.MovieTrailer;
+import com.be.model.entity.SyncJobType;
+import com.be.repository.CastRepository;
+import com.be.repository.GenreRepository;
+import com.be.repository.MovieCastRepository;
+import com.be.repository.MovieRepository;
+import com.be.repository.MovieTrailerRepository;
+import com.be.service.external.stub.TMDBStubServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the single-movie sync against {@link TMDBStubServer} with the real HTTP client, rate limiter
+ * and decoding; only the database writers are mocked.
+ */
+class TMDBServiceSyncTest {
+    private static final long TMDB_ID = 550L;
+    private static final long MOVIE_ID = 42L;
+
+    private TMDBStubServer stub;
+    private MovieBatchWriter movieBatchWriter;
+    private CastCreditWriter castCreditWriter;
+    private ReviewBatchWriter reviewBatchWriter;
+    private MovieTrailerRepository movieTrailerRepository;
+    private MovieRepository movieRepository;
+    private MovieCastRepository movieCastRepository;
+    private CastRepository castRepository;
+    private TMDBReactiveClient reactiveClient;
+    private SyncDeadLetterService deadLetterService;
+
+    @BeforeEach
+    void setUp() {
+        movieBatchWriter = mock(MovieBatchWriter.class);
+        castCreditWriter = mock(CastCreditWriter.class);
+        reviewBatchWriter = mock(ReviewBatchWriter.class);
+        movieTrailerRepository = mock(MovieTrailerRepository.class);
+        movieRepository = mock(MovieRepository.class);
+        movieCastRepository = mock(MovieCastRepository.class);
+        castRepository = mock(CastRepository.class);
+        reactiveClient = mock(TMDBReactiveClient.class);
+        deadLetterService = mock(SyncDeadLetterService.class);
+
+        when(movieBatchWriter.upsertMovies(anyList(), isNull())).thenReturn(MovieWriteResult.builder()
+                .movieIds(Map.of(TMDB_ID, MOVIE_ID))
+                .written(1)
+                .build());
+        when(reviewBatchWriter.writeReviews(eq(MOVIE_ID), anyList())).thenAnswer(invocation ->
+                ReviewWriteResult.builder()
+                        .written(invocation.<List<?>>getArgument(1).size())
+                        .errors(List.of())
+                        .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.stop();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void syncMovieWritesDetailsCreditsTrailersAndReviewsFromOneCall() throws IOException {
+        TMDBService service = service(TMDBStubServer.builder().port(0).build());
+
+        Movie movie = service.syncMovie(TMDB_ID);
+
+        assertThat(stub.getRequestCount()).isEqualTo(1);
+        assertThat(movie.getId()).isEqualTo(MOVIE_ID);
+
+        ArgumentCaptor<List<Movie>> movies = ArgumentCaptor.forClass(List.class);
+        verify(movieBatchWriter).upsertMovies(movies.capture(), isNull());
+        assertThat(movies.getValue()).singleElement().satisfies(written -> {
+            assertThat(written.getTmdbId()).isEqualTo(TMDB_ID);
+            assertThat(written.getTitle()).isEqualTo("Stub Movie 550");
+            assertThat(written.getGenres()).hasSize(2);
+        });
+
+        ArgumentCaptor<List<TMDBCastDTO>> cast = ArgumentCaptor.forClass(List.class);
+        verify(castCreditWriter).writeMovieCasts(eq(MOVIE_ID), cast.capture());
+        assertThat(cast.getValue()).extracting(TMDBCastDTO::getCharacter)
+                .containsExactly("Lead", "Partner", "Villain");
+
+        // The teaser is not a trailer
+        verify(movieTrailerRepository, times(1)).save(any(MovieTrailer.class));
+
+        ArgumentCaptor<List<TMDBReviewDTO>> reviews = ArgumentCaptor.forClass(List.class);
+        verify(reviewBatchWriter).writeReviews(eq(MOVIE_ID), reviews.capture());
+        assertThat(reviews.getValue()).hasSize(2);
+    }
+
+    @Test
+    void removedTitleFailsWithoutWritingAndIsNotRetryable() throws IOException {
+        TMDBService service = service(TMDBStubServer.builder().port(0).errorRate(1).errorStatus(404).build());
+
+        assertThatThrownBy(() -> service.syncMovie(TMDB_ID))
+                .isInstanceOf(HttpClientErrorException.NotFound.class)
+                .satisfies(error -> assertThat(SyncDeadLetterService.isRetryable(error)).isFalse());
+        verify(movieBatchWriter, never()).upsertMovies(anyList(), any());
+    }
+
+    @Test
+    void castWriteFailureFailsTheMovieSync() throws IOException {
+        TMDBService service = service(TMDBStubServer.builder().port(0).build());
+        doThrow(new DataIntegrityViolationException("movie_casts_pkey"))
+                .when(castCreditWriter).writeMovieCasts(eq(MOVIE_ID), anyList());
+
+        assertThatThrownBy(() -> service.syncMovie(TMDB_ID)).isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void creditWriteFailureFailsThePersonSync() throws IOException {
+        TMDBService service = service(TMDBStubServer.builder().port(0).build());
+        when(castRepository.save(any(Cast.class))).thenAnswer(invocation -> {
+            Cast cast = invocation.getArgument(0);
+            cast.setId(7L);
+            return cast;
+        });
+        when(movieRepository.save(any(Movie.class))).thenAnswer(invocation -> {
+            Movie movie = invocation.getArgument(0);
+            movie.setId(movie.getTmdbId());
+            return movie;
+        });
+        when(movieCastRepository.save(any(MovieCast.class)))
+                .thenThrow(new DataIntegrityViolationException("movie_casts_pkey"));
+
+        assertThatThrownBy(() -> service.syncCastDetails(31L)).isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void unchangedCastOnlyGetsTheNewPopularity(@TempDir Path fixtures) throws IOException {
+        Path person = fixtures.resolve("person/31.json");
+        Files.createDirectories(person.getParent());
+        Files.writeString(person, personFixture(25.0f));
+        TMDBService service = service(TMDBStubServer.builder().port(0).fixturesDir(fixtures).build());
+        ArgumentCaptor<Cast> saved = ArgumentCaptor.forClass(Cast.class);
+        when(castRepository.save(saved.capture())).thenAnswer(invocation -> {
+            Cast cast = invocation.getArgument(0);
+            cast.setId(7L);
+            return cast;
+        });
+        when(movieRepository.findByTmdbId(any())).thenReturn(Optional.of(Movie.builder().id(MOVIE_ID).build()));
+
+        service.syncCastDetails(31L);
+        when(castRepository.findByTmdbId(31L)).thenReturn(Optional.of(saved.getValue()));
+        Files.writeString(person, personFixture(61.5f));
+        service.syncCastDetails(31L);
+
+        verify(castRepository, times(1)).save(any(Cast.class));
+        verify(castRepository).markSynced(eq(7L), eq(61.5f), any(ZonedDateTime.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void categorySyncDeadLettersMoviesItCouldNotFetch() throws IOException {
+        TMDBService service = service(TMDBStubServer.builder().port(0).build());
+        when(movieBatchWriter.upsertMovies(anyList(), eq("POPULAR"))).thenReturn(MovieWriteResult.builder()
+                .movieIds(Map.of())
+                .build());
+        // The prefetch finds a removed title and one TMDB hiccup; everything else is left to the one-by-one fetch
+        when(reactiveClient.fanOut(anyList(), any())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            Function<Long, Mono<TMDBMovieDTO>> call = invocation.getArgument(1);
+            return ids.stream().map(id -> call.apply(id).block()).filter(Objects::nonNull).toList();
+        });
+        when(reactiveClient.get(anyString(), eq(TMDBMovieDTO.class), anyString())).thenAnswer(invocation -> {
+            String url = invocation.getArgument(0);
+            if (url.contains("/movie/1002?")) {
+                return Mono.error(WebClientResponseException.create(404, "Not Found", HttpHeaders.EMPTY, null, null));
+            }
+            if (url.contains("/movie/1003?")) {
+                return Mono.error(WebClientResponseException.create(503, "Unavailable", HttpHeaders.EMPTY, null, null));
+            }
+            return Mono.empty();
+        });
+
+        service.syncPopularMovies();
+
+        ArgumentCaptor<List<Movie>> movies = ArgumentCaptor.forClass(List.class);
+        verify(movieBatchWriter).upsertMovies(movies.capture(), eq("POPULAR"));
+        assertThat(movies.getValue()).extracting(Movie::getTmdbId).containsExactly(1001L, 1003L, 1004L, 1005L);
+        verify(deadLetterService).record(eq(SyncJobType.MOVIES_FULL),
+                argThat(item -> item.getTmdbId() == 1002L), eq("popular-sync"),
+                any(WebClientResponseException.NotFound.class));
+        verify(deadLetterService, never()).record(any(), argThat(item -> item.getTmdbId() != 1002L), any(), any());
+    }
+
+    private static String personFixture(float popularity) {
+        return """
+                {"id": 31, "name": "Tom Hanks", "biography": "Actor.", "birthday": "1956-07-09",
+                 "known_for_department": "Acting", "popularity": %s, "gender": 2, "imdb_id": "nm0000158"}
+                """.formatted(popularity);
+    }
+
+    private TMDBService service(TMDBStubServer server) throws IOException {
+        stub = server;
+        stub.start();
+
+        TMDBRateLimiter rateLimiter = new TMDBRateLimiter(40, 2, 50, 1, 20, 0);
+        TMDBMetrics metrics = new TMDBMetrics(new SimpleMeterRegistry(), rateLimiter, mock(TMDBHttpPoolMonitor.class));
+        RestTemplate restTemplate = new RestTemplate();
+        TMDBClient client = new TMDBClient(restTemplate, new TMDBPayloadSampler(0, 1, 0),
+                new TMDBRequestCoalescer(true, Duration.ofSeconds(10)), metrics, 200);
+
+        TMDBService service = new TMDBService(restTemplate,
+                movieRepository,
+                movieTrailerRepository,
+                movieCastRepository,
+                castRepository,
+                mock(GenreRepository.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                reviewBatchWriter,
+                mock(TMDBResponseCache.class),
+                client,
+                rateLimiter,
+                reactiveClient,
+                movieBatchWriter,
+                mock(GenreDictionary.class),
+                castCreditWriter,
+                mock(SchedulerLeaseService.class),
+                metrics,
+                mock(CategorySnapshotWriter.class),
+                deadLetterService);
+        ReflectionTestUtils.setField(service, "BASE_URL", stub.getBaseUrl());
+        ReflectionTestUtils.setField(service, "entityManager", mock(EntityManager.class));
+        return service;
+    }
+}
@@ -0,0 +1,339 @@
+package com.be.service.external.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stand-in for api.themoviedb.org that replays JSON fixtures, so the sync pipeline can be run and
+ * benchmarked without network access. Point {@code app.tmdb.base-url} at {@code http://localhost:<port>/3}.
+ * <p>
+ * A request for {@code /3/movie/550/credits?page=2} is answered from the first fixture found:
+ * <ol>
+ *     <li>{@code movie/550/credits.page-2.json} - recorded or hand-written response</li>
+ *     <li>{@code movie/_id/credits.page-2.json} - template, {@code {{id}}} is replaced with 550</li>
+ *     <li>the same two without the page suffix, where {@code {{page}}} is replaced with 2</li>
+ * </ol>
+ * Fixtures are read from {@code fixturesDir} first, then from {@code tmdb-fixtures/} on the test classpath.
+ * {@code append_to_response} is served by embedding the fixture of each appended sub-resource.
+ * <p>
+ * With {@code recordUpstream} set, requests without a fixture are forwarded to the real API and the
+ * response is stored in {@code fixturesDir} before being returned.
+ */
+@Slf4j
+public class TMDBStubServer {
+    private static final String API_PREFIX = "/3";
+    private static final String CLASSPATH_FIXTURES = "tmdb-fixtures/";
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("(?<=/|^)\\d+(?=/|$)");
+    private static final byte[] NOT_FOUND = ("{\"success\":false,\"status_code\":34,"
+            + "\"status_message\":\"The resource you requested could not be found.\"}").getBytes(StandardCharsets.UTF_8);
+
+    private final int port;
+    private final Path fixturesDir;
+    private final Duration latency;
+    private final Duration latencyJitter;
+    private final double errorRate;
+    private final int errorStatus;
+    private final String recordUpstream;
+    private final String recordToken;
+    private final int threads;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong injectedErrorCount = new AtomicLong();
+    private final AtomicLong recordedCount = new AtomicLong();
+    private final AtomicLong notFoundCount = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private HttpClient upstreamClient;
+
+    @Builder
+    public TMDBStubServer(int port, Path fixturesDir, Duration latency, Duration latencyJitter,
+                          double errorRate, Integer errorStatus, String recordUpstream, String recordToken,
+                          Integer threads) {
+        this.port = port;
+        this.fixturesDir = fixturesDir;
+        this.latency = latency != null ? latency : Duration.ZERO;
+        this.latencyJitter = latencyJitter != null ? latencyJitter : Duration.ZERO;
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus != null ? errorStatus : 500;
+        this.recordUpstream = recordUpstream == null || recordUpstream.isBlank() ? null : recordUpstream;
+        this.recordToken = recordToken;
+        this.threads = threads != null ? threads : 32;
+    }
+
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            return;
+        }
+        if (recordUpstream != null) {
+            if (fixturesDir == null) {
+                throw new IllegalStateException("Record mode needs a fixtures directory to write to");
+            }
+            upstreamClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        }
+
+        executor = Executors.newFixedThreadPool(threads);
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+        log.info("TMDB stub listening on http://localhost:{}{} (fixtures: {}, record: {})",
+                getBoundPort(), API_PREFIX, fixturesDir != null ? fixturesDir : "classpath",
+                recordUpstream != null ? recordUpstream : "off");
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            log.info("TMDB stub stopped after {} requests", requestCount.get());
+        }
+    }
+
+    public int getBoundPort() {
+        return server != null ? server.getAddress().getPort() : port;
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + getBoundPort() + API_PREFIX;
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public long getInjectedErrorCount() {
+        return injectedErrorCount.get();
+    }
+
+    public long getRecordedCount() {
+        return recordedCount.get();
+    }
+
+    public long getNotFoundCount() {
+        return notFoundCount.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        try (exchange) {
+            simulateLatency();
+
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectedErrorCount.incrementAndGet();
+                if (errorStatus == 429) {
+                    exchange.getResponseHeaders().add("Retry-After", "1");
+                }
+                send(exchange, errorStatus, ("{\"success\":false,\"status_code\":" + errorStatus
+                        + ",\"status_message\":\"Injected error\"}").getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            if (!path.startsWith(API_PREFIX + "/")) {
+                notFoundCount.incrementAndGet();
+                send(exchange, 404, NOT_FOUND);
+                return;
+            }
+            String resource = path.substring(API_PREFIX.length() + 1).replaceAll("/+$", "");
+            Map<String, String> query = parseQuery(exchange.getRequestURI());
+
+            byte[] body = resolve(resource, query);
+            if (body == null && recordUpstream != null) {
+                body = record(resource, exchange.getRequestURI().getRawQuery(), query);
+            }
+            if (body == null) {
+                notFoundCount.incrementAndGet();
+                log.debug("TMDB stub has no fixture for {}", exchange.getRequestURI());
+                send(exchange, 404, NOT_FOUND);
+                return;
+            }
+            send(exchange, 200, body);
+        } catch (Exception e) {
+            log.error("TMDB stub failed to serve {}: ", exchange.getRequestURI(), e);
+            send(exchange, 500, "{\"success\":false,\"status_message\":\"Stub error\"}".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private byte[] resolve(String resource, Map<String, String> query) throws IOException {
+        String append = query.get("append_to_response");
+        String page = query.getOrDefault("page", "1");
+
+        byte[] body = findFixture(resource + appendSuffix(append), page);
+        if (body != null || append == null) {
+            return body;
+        }
+
+        // Compose the base resource with each appended sub-resource
+        byte[] base = findFixture(resource, page);
+        if (base == null) {
+            return null;
+        }
+        ObjectNode composed = (ObjectNode) objectMapper.readTree(base);
+        for (String name : append.split(",")) {
+            byte[] part = findFixture(resource + "/" + name.trim(), "1");
+            if (part != null) {
+                composed.set(name.trim(), objectMapper.readTree(part));
+            }
+        }
+        return objectMapper.writeValueAsBytes(composed);
+    }
+
+    private byte[] findFixture(String resource, String page) throws IOException {
+        String template = NUMERIC_SEGMENT.matcher(resource).replaceAll("_id");
+        String pageSuffix = "1".equals(page) ? "" : ".page-" + page;
+
+        for (String candidate : new String[]{
+                resource + pageSuffix, template + pageSuffix, resource, template}) {
+            byte[] fixture = readFixture(candidate + ".json");
+            if (fixture != null) {
+                return render(fixture, resource, page);
+            }
+        }
+        return null;
+    }
+
+    private byte[] readFixture(String name) throws IOException {
+        if (fixturesDir != null) {
+            Path file = fixturesDir.resolve(name);
+            if (Files.isRegularFile(file)) {
+                return Files.readAllBytes(file);
+            }
+        }
+        ClassPathResource resource = new ClassPathResource(CLASSPATH_FIXTURES + name);
+        if (resource.exists()) {
+            try (InputStream in = resource.getInputStream()) {
+                return in.readAllBytes();
+            }
+        }
+        return null;
+    }
+
+    private byte[] render(byte[] fixture, String resource, String page) {
+        String text = new String(fixture, StandardCharsets.UTF_8);
+        if (!text.contains("{{")) {
+            return fixture;
+        }
+        Matcher id = NUMERIC_SEGMENT.matcher(resource);
+        return text
+                .replace("{{id}}", id.find() ? id.group() : "0")
+                .replace("{{page}}", page)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] record(String resource, String rawQuery, Map<String, String> query)
+            throws IOException, InterruptedException {
+        String url = recordUpstream + "/" + resource + (rawQuery != null ? "?" + rawQuery : "");
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("accept", "application/json");
+        if (recordToken != null && !recordToken.isBlank()) {
+            request.header("Authorization", "Bearer " + recordToken);
+        }
+
+        HttpResponse<byte[]> response = upstreamClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            log.warn("TMDB stub could not record {}: upstream returned {}", url, response.statusCode());
+            return null;
+        }
+
+        String page = query.getOrDefault("page", "1");
+        Path file = fixturesDir.resolve(resource + appendSuffix(query.get("append_to_response"))
+                + ("1".equals(page) ? "" : ".page-" + page) + ".json");
+        Files.createDirectories(file.getParent());
+        // Pretty-printed so recorded fixtures can be reviewed and edited
+        JsonNode json = objectMapper.readTree(response.body());
+        Files.write(file, objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(json));
+        recordedCount.incrementAndGet();
+        log.info("TMDB stub recorded {} -> {}", url, file);
+        return response.body();
+    }
+
+    private static String appendSuffix(String append) {
+        return append == null ? "" : "+" + append.replace(" ", "");
+    }
+
+    private static Map<String, String> parseQuery(URI uri) {
+        Map<String, String> query = new HashMap<>();
+        UriComponentsBuilder.fromUri(uri).build().getQueryParams()
+                .forEach((key, values) -> query.put(key, values.isEmpty() ? null : values.get(0)));
+        return query;
+    }
+
+    private void simulateLatency() throws InterruptedException {
+        long millis = latency.toMillis();
+        if (!latencyJitter.isZero()) {
+            millis += ThreadLocalRandom.current().nextLong(latencyJitter.toMillis() + 1);
+        }
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json;charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Runs the stub on its own from the test classpath, e.g. for benchmarking a separately started application:
+     * {@code --port=8089 --fixtures=./fixtures --latency=40ms --jitter=20ms --error-rate=0.01
+     * --error-status=429 --record=https://api.themoviedb.org/3 --token=...}
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+
+        TMDBStubServer stub = TMDBStubServer.builder()
+                .port(Integer.parseInt(options.getOrDefault("port", "8089")))
+                .fixturesDir(options.containsKey("fixtures") ? Path.of(options.get("fixtures")) : null)
+                .latency(DurationStyle.detectAndParse(options.getOrDefault("latency", "0ms")))
+                .latencyJitter(DurationStyle.detectAndParse(options.getOrDefault("jitter", "0ms")))
+                .errorRate(Double.parseDouble(options.getOrDefault("error-rate", "0")))
+                .errorStatus(Integer.parseInt(options.getOrDefault("error-status", "500")))
+                .recordUpstream(options.get("record"))
+                .recordToken(options.getOrDefault("token", System.getenv("TMDB_BEARER_TOKEN")))
+                .threads(Integer.parseInt(options.getOrDefault("threads", "32")))
+                .build();
+        stub.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::stop));
+    }
+}